@@ -1,11 +1,26 @@
 package util;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 /**
  * Array Deque
  *
  * <p>A double-ended {@code Queue} implementation featuring
  * a circular {@code Array}.
  *
+ * <p>The capacity of the {@code Array} is always a power of two, so an
+ * index wraps around with a single bit-mask rather than a branch. When
+ * the {@code Array} fills up, it is doubled, and the elements are moved
+ * across with two calls to
+ * {@link System#arraycopy(Object, int, Object, int, int)}. A
+ * {@code Deque} constructed to shrink on drain halves its {@code Array}
+ * again whenever it falls to a quarter full, but never below the
+ * capacity it started with.
+ *
  * @param <E> the type
  * @author Ellie Moore
  * @version 1.0, 02-20-20
@@ -14,14 +29,21 @@ package util;
 public class ArrayDeque<E> implements Deque<E> {
 
     /*
-     * An integer constant for initial size and growth of the Deque.
+     * The capacity of a Deque constructed without one: the
+     * smallest power of two that holds the old fixed allocation
+     * of 100.
      */
-    private static final int INTERNAL_ALLOCATION = 100;
+    private static final int DEFAULT_CAPACITY = 128;
+
+    /*
+     * The largest power of two that an Array can have.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
 
     /**
      * The {@code internal Array} used to store the {@code Object}'s data.
      * The capacity of the {@code Deque Object} is the length of this
-     * {@code Array}.
+     * {@code Array}, which is always a power of two.
      */
     private E[] internal;
 
@@ -32,24 +54,90 @@ public class ArrayDeque<E> implements Deque<E> {
     private int size;
 
     /**
-     * An {@code integer} variable to keep track of the front of the {@code Deque}.
+     * The index of the element at the front of the {@code Deque}.
      */
     private int front;
 
     /**
-     * An {@code integer} variable to keep track of the back of the {@code Deque}.
+     * The index just past the element at the back of the {@code Deque}:
+     * the slot that the next insertion at the back will fill.
      */
     private int back;
 
+    /**
+     * The length of the {@code Array} that the {@code Deque} started
+     * with. A shrinking {@code Deque} never goes below it.
+     */
+    private final int minimumCapacity;
+
+    /**
+     * Whether or not the {@code Array} is halved as the {@code Deque}
+     * drains.
+     */
+    private final boolean shrinkOnDrain;
+
+    /**
+     * The number of times the {@code Deque} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /**
+     * The cached hash code of the live elements, from front to back.
+     * Only meaningful while {@code hashValid} is set.
+     */
+    private int hash;
+
+    /**
+     * {@code HASH_CODE_CONST} raised to the power of the {@code size},
+     * kept alongside the cached hash code.
+     */
+    private int hashPow;
+
+    /**
+     * Whether or not a hash code has been cached. Once one has, every
+     * insertion and deletion keeps it up to date in O(1).
+     */
+    private boolean hashValid;
+
     /**
      * A public {@code constructor} to initialize the {@code internal Array}
      * and set the {@code Deque size} to zero.
      */
-    @SuppressWarnings("Unchecked")
     public ArrayDeque() {
-        internal = (E[]) new Object[INTERNAL_ALLOCATION];
-        back = internal.length;
-        front = 0;
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * A secondary {@code constructor} for a {@code Deque} that starts out
+     * with room for at least the given number of elements.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ArrayDeque(final int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * A secondary {@code constructor} for a {@code Deque} that starts out
+     * with room for at least the given number of elements, and that may
+     * give memory back as it drains.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two
+     * @param shrinkOnDrain whether or not to halve the {@code Array}
+     *                      whenever the {@code Deque} falls to a quarter full
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayDeque(final int capacity, final boolean shrinkOnDrain) {
+        if (capacity < 0) throw new IllegalArgumentException();
+        final int length = capacity <= 2 ? 2 : capacity >= MAXIMUM_CAPACITY ?
+                MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+        internal = (E[]) new Object[length];
+        minimumCapacity = length;
+        this.shrinkOnDrain = shrinkOnDrain;
+        front = back = 0;
         size = 0;
     }
 
@@ -61,10 +149,12 @@ public class ArrayDeque<E> implements Deque<E> {
      */
     @Override
     public void insertOnFront(final E input) {
-        grow();
+        front = (front - 1) & (internal.length - 1);
+        internal[front] = input;
         size++;
-        internal[front++] = input;
-        if (front >= internal.length) front = 0;
+        modCount++;
+        if (front == back) grow();
+        if (hashValid) hashInsertedOnFront(input);
     }
 
     /**
@@ -77,9 +167,14 @@ public class ArrayDeque<E> implements Deque<E> {
     @Override
     public E delete() {
         if (isEmpty()) return null;
-        else if (front <= 0) front = internal.length;
+        final E removal = internal[front];
+        internal[front] = null;
+        front = (front + 1) & (internal.length - 1);
         size--;
-        return internal[--front];
+        modCount++;
+        if (hashValid) hashDeleted(removal);
+        if (shrinkOnDrain) shrink();
+        return removal;
     }
 
     /**
@@ -90,10 +185,12 @@ public class ArrayDeque<E> implements Deque<E> {
      */
     @Override
     public void insert(final E input) {
-        grow();
+        internal[back] = input;
+        back = (back + 1) & (internal.length - 1);
         size++;
-        internal[--back] = input;
-        if (back <= 0) back = internal.length;
+        modCount++;
+        if (back == front) grow();
+        if (hashValid) hashInserted(input);
     }
 
     /**
@@ -105,41 +202,57 @@ public class ArrayDeque<E> implements Deque<E> {
      */
     @Override
     public E deleteFromBack() {
-        // If the back
-        // variable reaches the length of the internal array, it is set to zero
-        // and allowed to enter the front variable's territory. This method
-        // decrements the size and increments the back variable each
-        // time it is called.
         if (isEmpty()) return null;
-        else if (back >= internal.length) back = 0;
+        back = (back - 1) & (internal.length - 1);
+        final E removal = internal[back];
+        internal[back] = null;
         size--;
-        return internal[back++];
+        modCount++;
+        if (hashValid) hashDeletedFromBack(removal);
+        if (shrinkOnDrain) shrink();
+        return removal;
     }
 
     /*
-     * If size equals the length of the internal Array, then this
-     * method performs a manual copy to a larger Array. This method
-     * then assigns the new Array's reference to the internal
-     * pointer and leaves the old Array for garbage collection.
+     * A method to double the internal Array once it is completely
+     * full, that is, once front and back have met. The run from the
+     * front to the end of the old Array and the run from the start of
+     * the old Array to the back are each moved with a single
+     * System.arraycopy, so that the front lands at index zero.
      *
      * @see System#arraycopy(Object, int, Object, int, int)
-     * @see java.util.Arrays#copyOf(Object[], int)
      */
     @SuppressWarnings("Unchecked")
     private void grow() {
-        if (size >= internal.length - 1) {
-            final E[] copy = (E[]) new String[internal.length + INTERNAL_ALLOCATION];
-            int index = back;
-            int secondaryIndex = 0;
-            for (int i = 0; i < size; i++) {
-                if (index < internal.length)
-                    copy[index + INTERNAL_ALLOCATION] = internal[index++];
-                else copy[secondaryIndex] = internal[secondaryIndex++];
-            }
-            back += INTERNAL_ALLOCATION;
-            front = (secondaryIndex != 0) ? secondaryIndex : index + INTERNAL_ALLOCATION;
-            internal = copy;
-        }
+        final int length = internal.length;
+        if (length == MAXIMUM_CAPACITY)
+            throw new IllegalStateException("Deque too big");
+        final E[] copy = (E[]) new Object[length << 1];
+        final int run = length - front;
+        System.arraycopy(internal, front, copy, 0, run);
+        System.arraycopy(internal, 0, copy, run, front);
+        internal = copy;
+        front = 0;
+        back = length;
+    }
+
+    /*
+     * A method to halve the internal Array once the Deque has drained
+     * to a quarter full, so long as the Array stays at or above the
+     * capacity it started with. The live elements are moved across
+     * with at most two System.arraycopy calls.
+     */
+    @SuppressWarnings("unchecked")
+    private void shrink() {
+        final int length = internal.length;
+        if (length <= minimumCapacity || size > (length >>> 2)) return;
+        final E[] copy = (E[]) new Object[length >>> 1];
+        final int run = Math.min(size, length - front);
+        System.arraycopy(internal, front, copy, 0, run);
+        System.arraycopy(internal, 0, copy, run, size - run);
+        internal = copy;
+        front = 0;
+        back = size;
     }
 
     /**
@@ -150,8 +263,7 @@ public class ArrayDeque<E> implements Deque<E> {
      */
     @Override
     public E peekFromBack() {
-        if(back < internal.length) return internal[back];
-        else return internal[back - 1];
+        return internal[(back - 1) & (internal.length - 1)];
     }
 
     /**
@@ -159,8 +271,7 @@ public class ArrayDeque<E> implements Deque<E> {
      */
     @Override
     public E peek() {
-        if(front > 0) return internal[front - 1];
-        else return internal[0];
+        return internal[front];
     }
 
     /**
@@ -184,13 +295,11 @@ public class ArrayDeque<E> implements Deque<E> {
      */
     @Override
     public String toString() {
-        int index = back;
+        final int mask = internal.length - 1;
         StringBuilder out = new StringBuilder("[");
         for (int i = 0; i < size; i++) {
-            if (index == internal.length) {
-                index = 0;
-            }
-            out.append(internal[index++]).append((i < size - 1) ? ", " : "");
+            out.append(internal[(back - 1 - i) & mask])
+               .append((i < size - 1) ? ", " : "");
         }
         out.append("]");
         return out.toString();
@@ -219,25 +328,208 @@ public class ArrayDeque<E> implements Deque<E> {
         else if (!(other instanceof ArrayDeque)) return false;
         ArrayDeque<E> otherElement = (ArrayDeque<E>) other;
         if (otherElement.size != this.size) return false;
-        for (int i = back, j = (back + size); i < j; i++) {
-            if(i >= internal.length) {j -= i; i = 0;}
-            if (!internal[i].equals(otherElement.internal[i]))
-                return false;
+        for (int p = 0; p < size; p++) {
+            final E e = internal[indexOf(p)];
+            final E oe = otherElement.internal[otherElement.indexOf(p)];
+            if (e == null ? oe != null : !e.equals(oe)) return false;
         }
         return true;
     }
 
     /**
-     * @inheritDoc
+     * {@inheritDoc}
+     *
+     * <p>The hash code covers the live elements only, from front to back.
+     * The first call computes it; from then on, every insertion and
+     * deletion at either end updates it in O(1), so it is never
+     * recomputed. Elements whose own hash codes change while in the
+     * {@code Deque} are not noticed.
      */
     @Override
     public int hashCode() {
-        int hash = 1;
-        for (E e : internal) {
-            hash = EllieCollections.HASH_CODE_CONST * hash +
+        if (hashValid) return hash;
+        int h = 1, pow = 1;
+        for (final E e : this) {
+            h = EllieCollections.HASH_CODE_CONST * h +
                     (e != null ? e.hashCode() : 0);
+            pow *= EllieCollections.HASH_CODE_CONST;
         }
-        return hash;
+        hash = h;
+        hashPow = pow;
+        hashValid = true;
+        return h;
+    }
+
+    /*
+     * For elements c[0] (front) to c[n - 1] (back), the hash code is
+     *
+     *      h = 31^n + c[0] * 31^(n - 1) + ... + c[n - 1]
+     *
+     * in int arithmetic. So an element c pushed onto the back gives
+     * 31 * h + c, and one pushed onto the front adds (30 + c) * 31^n.
+     * As 31 is odd, it has an inverse modulo 2^32, and both steps can
+     * be undone exactly when an element is deleted.
+     */
+
+    private void hashInserted(final E e) {
+        hash = EllieCollections.HASH_CODE_CONST * hash +
+                (e != null ? e.hashCode() : 0);
+        hashPow *= EllieCollections.HASH_CODE_CONST;
+    }
+
+    private void hashInsertedOnFront(final E e) {
+        hash += (EllieCollections.HASH_CODE_CONST - 1 +
+                (e != null ? e.hashCode() : 0)) * hashPow;
+        hashPow *= EllieCollections.HASH_CODE_CONST;
+    }
+
+    private void hashDeleted(final E e) {
+        hashPow *= EllieCollections.HASH_CODE_INVERSE;
+        hash -= (EllieCollections.HASH_CODE_CONST - 1 +
+                (e != null ? e.hashCode() : 0)) * hashPow;
+    }
+
+    private void hashDeletedFromBack(final E e) {
+        hash = (hash - (e != null ? e.hashCode() : 0)) *
+                EllieCollections.HASH_CODE_INVERSE;
+        hashPow *= EllieCollections.HASH_CODE_INVERSE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} starts at the front of the {@code Deque}
+     * and wraps around the circular {@code Array} towards the back. It
+     * is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} is late-binding and fail-fast. It works
+     * on positions counted from the front of the {@code Deque}, rather
+     * than on raw indexes, so each split divides the remaining elements
+     * exactly in half regardless of where the circular {@code Array}
+     * wraps around. It reports {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED} and {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new Splitr(0, -1, 0);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator that walks from the front of the Deque to
+     * the back, wrapping around the end of the internal Array.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private int index = front;
+        private int remaining = size;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            final E e = internal[index];
+            index = (index + 1) & (internal.length - 1);
+            remaining--;
+            return e;
+        }
+
+    }
+
+    /*
+     * A method to translate a position, counted from the front of the
+     * Deque, into an index of the internal Array.
+     */
+    private int indexOf(final int position) {
+        return (front + position) & (internal.length - 1);
+    }
+
+    /*
+     * Splitr
+     *
+     * A Spliterator over a range of positions counted from the front
+     * of the Deque. A negative fence means that the range has not yet
+     * been bound to the size of the Deque; binding happens on first use.
+     */
+    private final class Splitr implements Spliterator<E> {
+
+        private int position;
+        private int fence;
+        private int expectedModCount;
+
+        public Splitr(final int origin, final int fence,
+                      final int expectedModCount) {
+            this.position = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int hi = getFence(), lo = position, mid = (lo + hi) >>> 1;
+            return lo >= mid ? null :
+                    new Splitr(lo, position = mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            final int hi = getFence(), p = position;
+            if (p >= hi) return false;
+            position = p + 1;
+            action.accept(internal[indexOf(p)]);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            final int hi = getFence();
+            for (int p = position; p < hi; p++)
+                action.accept(internal[indexOf(p)]);
+            position = hi;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED |
+                    Spliterator.SUBSIZED;
+        }
+
     }
 
 }
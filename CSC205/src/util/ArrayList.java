@@ -1,6 +1,14 @@
 package util;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Array List
@@ -33,6 +41,35 @@ public class ArrayList<E> implements List<E> {
      */
     private int size;
 
+    /**
+     * The number of times the {@code ArrayList} has been structurally
+     * modified. Used by views to detect concurrent modification.
+     */
+    private int modCount;
+
+    /**
+     * An optional index from each element to the indexes it occupies,
+     * or null if indexing is disabled.
+     */
+    private HashIndex<E> hashIndex;
+
+    /**
+     * The cached hash code of the live elements, valid only while
+     * {@code hashValid} is set and {@code hashFor} matches the
+     * {@code modCount}.
+     */
+    private int hash;
+
+    /**
+     * The {@code modCount} for which the cached hash code was computed.
+     */
+    private int hashFor;
+
+    /**
+     * Whether or not a hash code has been cached.
+     */
+    private boolean hashValid;
+
     /**
      * A public constructor to initialize an empty {@code ArrayList}.
      * (size zero with an allocation of 50 null indexes)
@@ -87,6 +124,7 @@ public class ArrayList<E> implements List<E> {
                 internal, index + 1, internal, index, size - index
         );
         size--;
+        modCount++;
         return selection;
     }
 
@@ -113,29 +151,129 @@ public class ArrayList<E> implements List<E> {
 
     /**
      * A method to remove all occurrences of an element from the
-     * {@code List}.
+     * {@code List}. The remaining elements are compacted in a single
+     * pass, so the cost is linear no matter how many are removed.
      *
      * @param input the element to be removed
      * @return whether or not the element was removed successfully
      */
-    public boolean removeAll(E input){
-        boolean flag = false;
-        if(input == null){
-            for(int i = 0; i < size; i++){
-                if(internal[i] == null){
-                    remove(i);
-                    flag = true;
-                }
-            }
-        } else {
-            for(int i = 0; i < size; i++){
-                if(internal[i] != null && internal[i].equals(input)){
-                    remove(i);
-                    flag = true;
-                }
-            }
+    public boolean removeAll(final E input){
+        if(input == null) return compact(e -> e == null);
+        return compact(e -> e != null && e.equals(input));
+    }
+
+    /**
+     * A method to remove every element of the {@code List} that
+     * satisfies the given {@code Predicate}. The remaining elements
+     * are compacted in a single pass.
+     *
+     * @param filter the {@code Predicate} that selects removals
+     * @return whether or not any element was removed
+     */
+    public boolean removeIf(final Predicate<? super E> filter){
+        if(filter == null) throw new NullPointerException();
+        return compact(filter);
+    }
+
+    /**
+     * A method to remove every element of the {@code List} that does
+     * not occur in the given {@code List}. The given {@code List} is
+     * copied into a hash set once, and the remaining elements are then
+     * compacted in a single pass, so this is O(n + m).
+     *
+     * @param list the elements to be retained
+     * @return whether or not any element was removed
+     */
+    public boolean retainAll(final List<E> list){
+        if(list == null) throw new NullPointerException();
+        final HashSet<Object> set = new HashSet<>(Arrays.asList(list.toArray()));
+        return compact(e -> !set.contains(e));
+    }
+
+    /*
+     * A method to slide every element that fails the given filter
+     * down over the elements that pass it, using a read and a write
+     * index. The vacated tail is nulled out for garbage collection.
+     */
+    private boolean compact(final Predicate<? super E> filter){
+        int w = 0;
+        for(int r = 0; r < size; r++){
+            final E e = internal[r];
+            if(!filter.test(e)) internal[w++] = e;
         }
-        return flag;
+        if(w == size) return false;
+        Arrays.fill(internal, w, size, null);
+        size = w;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * A method to remove every element from the first index (inclusive)
+     * up to the second index (exclusive). The proceeding elements are
+     * shifted down with a single
+     * {@code System#arraycopy(Object, int, Object, int, int)} and the
+     * vacated tail is nulled out for garbage collection.
+     *
+     * @param from the first index to be removed
+     * @param to the index after the last index to be removed
+     * @throws IndexOutOfBoundsException forces the client to enter a valid range.
+     */
+    public void removeRange(final int from, final int to){
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Arguments must be a valid range"
+            );
+        }
+        if (from == to) return;
+        System.arraycopy(internal, to, internal, from, size - to);
+        final int newSize = size - (to - from);
+        Arrays.fill(internal, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    /**
+     * A method to overwrite a run of elements, starting at the given
+     * index, with the contents of the given {@code Array}. The size of
+     * the {@code List} does not change.
+     *
+     * @param from the first index to be overwritten
+     * @param array the replacement elements
+     * @throws IndexOutOfBoundsException forces the client to enter a valid range.
+     */
+    public void setRange(final int from, final E[] array){
+        if (from < 0 || from > size - array.length) {
+            throw new IndexOutOfBoundsException(
+                    "Arguments must be a valid range"
+            );
+        }
+        System.arraycopy(array, 0, internal, from, array.length);
+        if (hashIndex != null) hashIndex.invalidate();
+        hashValid = false;
+    }
+
+    /**
+     * A method that returns a view of the portion of this {@code List}
+     * from the first index (inclusive) up to the second index (exclusive).
+     * No elements are copied: reads and writes go straight through to
+     * the {@code internal Array}. Structural changes made through the
+     * view are reflected here. Structural changes made here, other than
+     * through the view, render the view unusable; its next access will
+     * throw a {@link ConcurrentModificationException}.
+     *
+     * @param from the first index of the view
+     * @param to the index after the last index of the view
+     * @return a {@code List} view of the given range
+     * @throws IndexOutOfBoundsException forces the client to enter a valid range.
+     */
+    public List<E> subList(final int from, final int to){
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Arguments must be a valid range"
+            );
+        }
+        return new SubList(from, to);
     }
 
     /**
@@ -150,6 +288,9 @@ public class ArrayList<E> implements List<E> {
         }
         final E temp = internal[index];
         internal[index] = input;
+        if (hashIndex != null)
+            hashIndex.replaced(temp, input, index, modCount);
+        hashReplaced(temp, input, index);
         return temp;
     }
 
@@ -175,6 +316,11 @@ public class ArrayList<E> implements List<E> {
      * @return whether or not the element was replaced successfully
      */
     public boolean replaceAll(final E candidate, final E input){
+        if (hashIndex != null) {
+            final int[] at = index().positions(candidate);
+            for (final int i : at) set(i, input);
+            return at.length > 0;
+        }
         boolean flag = false;
         if(input == null){
             for(int i = 0; i < size; i++) {
@@ -225,6 +371,75 @@ public class ArrayList<E> implements List<E> {
         );
         internal[index] = input;
         size++;
+        modCount++;
+        if (index == size - 1) {
+            if (hashIndex != null) hashIndex.appended(input, index, modCount);
+            hashAppended(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code internal Array} is grown at most once for the whole
+     * batch, and the elements are copied in with a single
+     * {@code System#arraycopy(Object, int, Object, int, int)}.
+     */
+    @Override
+    public ArrayList<E> addAll(final E[] array) {
+        addAll(size, array);
+        return this;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ArrayList<E> addAll(final List<E> list) {
+        addAll(size, (E[]) list.toArray());
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code internal Array} is grown at most once for the whole
+     * batch, and the proceeding elements are shifted down with a single
+     * {@code System#arraycopy(Object, int, Object, int, int)}, rather than
+     * once per element.
+     */
+    @Override
+    public void addAll(final int index, final E[] array) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    "Argument must be a valid index"
+            );
+        }
+        final int length = array.length;
+        if (length == 0) return;
+        ensureCapacity(size + length);
+        System.arraycopy(
+                internal, index, internal, index + length, size - index
+        );
+        System.arraycopy(array, 0, internal, index, length);
+        size += length;
+        modCount++;
+        if (index + length == size) {
+            if (hashIndex != null) hashIndex.appended(array, index, modCount);
+            hashAppended(index);
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(final int index, final List<E> list) {
+        addAll(index, (E[]) list.toArray());
     }
 
     /*
@@ -239,6 +454,19 @@ public class ArrayList<E> implements List<E> {
         }
     }
 
+    /*
+     * A method that performs a single copy from the current
+     * internal Array to a new Array large enough to hold the
+     * given number of elements (plus the usual allocation).
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity >= internal.length - 1) {
+            internal = Arrays.copyOf(
+                    internal, capacity + ALLOCATION
+            );
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -248,12 +476,54 @@ public class ArrayList<E> implements List<E> {
      */
     @Override
     public int indexOf(final E input) {
+        if (hashIndex != null) return index().first(input);
         for (int i = 0; i < size; i++) {
             if (internal[i].equals(input)) return i;
         }
         return -1;
     }
 
+    /**
+     * A method that checks whether or not the {@code List} contains the
+     * given element. This is O(1) expected when the hash index is enabled.
+     *
+     * @param input the element to look for
+     * @return whether or not the element is in the {@code List}
+     */
+    public boolean contains(final E input) {
+        return indexOf(input) >= 0;
+    }
+
+    /**
+     * A method to turn on a hash index from each element to the indexes
+     * it occupies. While it is on, {@code indexOf}, {@code contains},
+     * {@code remove(E)}, {@code replace} and {@code replaceAll} find their
+     * elements in O(1) expected rather than by scanning. Appends and
+     * {@code set} keep the index up to date as they go. Any other
+     * structural change leaves it to be rebuilt, in one pass, by the next
+     * lookup.
+     */
+    public void enableHashIndex() {
+        if (hashIndex == null) hashIndex = new HashIndex<>();
+    }
+
+    /**
+     * A method to turn off the hash index and release its memory.
+     */
+    public void disableHashIndex() {
+        hashIndex = null;
+    }
+
+    /*
+     * A method that returns the hash index, rebuilding it first if the
+     * List has changed shape since it was last brought up to date.
+     */
+    private HashIndex<E> index() {
+        if (!hashIndex.isCurrent(modCount))
+            hashIndex.rebuild(this, 0, modCount);
+        return hashIndex;
+    }
+
     /**
      * @inheritDoc
      */
@@ -316,16 +586,55 @@ public class ArrayList<E> implements List<E> {
     }
 
     /**
-     * @inheritDoc
+     * {@inheritDoc}
+     *
+     * <p>
+     * The hash code covers the live elements only, and is cached.
+     * Appends and {@code set} update the cached value in place; any
+     * other structural change leaves it to be recomputed by the next
+     * call. Elements whose own hash codes change while in the
+     * {@code List} are not noticed.
      */
     @Override
     public int hashCode() {
-        int hash = 1;
-        for (E e : internal) {
-            hash = EllieCollections.HASH_CODE_CONST * hash +
+        if (hashValid && hashFor == modCount) return hash;
+        int h = 1;
+        for (int i = 0; i < size; i++) {
+            final E e = internal[i];
+            h = EllieCollections.HASH_CODE_CONST * h +
                     (e != null ? e.hashCode() : 0);
         }
-        return hash;
+        hash = h;
+        hashFor = modCount;
+        hashValid = true;
+        return h;
+    }
+
+    /*
+     * A method to fold an appended run of elements into the cached
+     * hash code, if it was current just before the append.
+     */
+    private void hashAppended(final int from) {
+        if (!hashValid || hashFor != modCount - 1) return;
+        int h = hash;
+        for (int i = from; i < size; i++) {
+            final E e = internal[i];
+            h = EllieCollections.HASH_CODE_CONST * h +
+                    (e != null ? e.hashCode() : 0);
+        }
+        hash = h;
+        hashFor = modCount;
+    }
+
+    /*
+     * A method to adjust the cached hash code, if it is current,
+     * for the replacement of the element at the given index.
+     */
+    private void hashReplaced(final E previous, final E e, final int index) {
+        if (!hashValid || hashFor != modCount) return;
+        final int delta = (e != null ? e.hashCode() : 0) -
+                (previous != null ? previous.hashCode() : 0);
+        hash += delta * EllieCollections.hashPower(size - 1 - index);
     }
 
     /**
@@ -333,11 +642,381 @@ public class ArrayList<E> implements List<E> {
      */
     @Override
     public Object[] toArray() {
-        Object[] out = new Object[size];
-        System.arraycopy(internal, 0, out, 0, size);
-        internal = (E[]) new Object[ALLOCATION];
-        size = 0;
-        return out;
+        return Arrays.copyOf(internal, size, Object[].class);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The elements are copied out with a single
+     * {@code System#arraycopy(Object, int, Object, int, int)}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray(final E[] dest) {
+        if (dest.length < size)
+            return (E[]) Arrays.copyOf(internal, size, dest.getClass());
+        System.arraycopy(internal, 0, dest, 0, size);
+        if (dest.length > size) dest[size] = null;
+        return dest;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The elements are copied out and the remainder shifted down, each
+     * with a single {@code System#arraycopy(Object, int, Object, int, int)}.
+     */
+    @Override
+    public int drainTo(final E[] dest) {
+        final int count = Math.min(size, dest.length);
+        System.arraycopy(internal, 0, dest, 0, count);
+        removeRange(0, count);
+        return count;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code Iterator} reads straight from the {@code internal Array}
+     * and is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code Spliterator} is late-binding, fail-fast, and splits its
+     * index range in half, reporting {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED} and {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new Splitr(0, -1, 0);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator over the live portion of the internal
+     * Array.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private int cursor;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size)
+                throw new NoSuchElementException();
+            return internal[cursor++];
+        }
+
+    }
+
+    /*
+     * Splitr
+     *
+     * A Spliterator over an index range of the internal Array. A
+     * negative fence means that the range has not yet been bound to
+     * the size of the List; binding happens on first use.
+     */
+    private final class Splitr implements Spliterator<E> {
+
+        private int index;
+        private int fence;
+        private int expectedModCount;
+
+        public Splitr(final int origin, final int fence,
+                      final int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return lo >= mid ? null :
+                    new Splitr(lo, index = mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            final int hi = getFence(), i = index;
+            if (i >= hi) return false;
+            index = i + 1;
+            action.accept(internal[i]);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            final int hi = getFence();
+            final E[] a = internal;
+            for (int i = index; i < hi; i++) action.accept(a[i]);
+            index = hi;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED |
+                    Spliterator.SUBSIZED;
+        }
+
+    }
+
+    /*
+     * SubList
+     *
+     * A window onto a range of the enclosing ArrayList. The window
+     * holds only an offset and a size; every access is translated
+     * into an access of the enclosing List's internal Array.
+     */
+    private final class SubList implements List<E> {
+
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        public SubList(final int from, final int to) {
+            offset = from;
+            size = to - from;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        private void checkIndex(final int index, final int bound) {
+            if (index < 0 || index >= bound) {
+                throw new IndexOutOfBoundsException(
+                        "Argument must be a valid index"
+                );
+            }
+        }
+
+        private void modified(final int delta) {
+            size += delta;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public E get(final int index) {
+            checkForComodification();
+            checkIndex(index, size);
+            return internal[offset + index];
+        }
+
+        @Override
+        public E set(final int index, final E input) {
+            checkForComodification();
+            checkIndex(index, size);
+            final E temp = internal[offset + index];
+            internal[offset + index] = input;
+            if (hashIndex != null)
+                hashIndex.replaced(temp, input, offset + index, modCount);
+            hashReplaced(temp, input, offset + index);
+            return temp;
+        }
+
+        @Override
+        public E remove(final int index) {
+            checkForComodification();
+            checkIndex(index, size);
+            final E removal = ArrayList.this.remove(offset + index);
+            modified(-1);
+            return removal;
+        }
+
+        @Override
+        public boolean remove(final E input) {
+            final int index = indexOf(input);
+            if (index < 0) return false;
+            remove(index);
+            return true;
+        }
+
+        @Override
+        public boolean replace(final E candidate, final E input) {
+            final int index = indexOf(candidate);
+            if (index < 0) return false;
+            set(index, input);
+            return true;
+        }
+
+        @Override
+        public void add(final int index, final E input) {
+            checkForComodification();
+            checkIndex(index, size + 1);
+            ArrayList.this.add(offset + index, input);
+            modified(1);
+        }
+
+        @Override
+        public List<E> add(final E input) {
+            add(size, input);
+            return this;
+        }
+
+        @Override
+        public void addAll(final int index, final E[] array) {
+            checkForComodification();
+            checkIndex(index, size + 1);
+            ArrayList.this.addAll(offset + index, array);
+            modified(array.length);
+        }
+
+        @Override
+        public List<E> addAll(final E[] array) {
+            addAll(size, array);
+            return this;
+        }
+
+        @Override
+        public int indexOf(final E input) {
+            checkForComodification();
+            for (int i = 0; i < size; i++) {
+                final E e = internal[offset + i];
+                if (input == null ? e == null : input.equals(e)) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public Object[] toArray() {
+            checkForComodification();
+            return Arrays.copyOfRange(
+                    internal, offset, offset + size, Object[].class
+            );
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E[] toArray(final E[] dest) {
+            checkForComodification();
+            if (dest.length < size) {
+                return (E[]) Arrays.copyOfRange(
+                        internal, offset, offset + size, dest.getClass()
+                );
+            }
+            System.arraycopy(internal, offset, dest, 0, size);
+            if (dest.length > size) dest[size] = null;
+            return dest;
+        }
+
+        @Override
+        public int drainTo(final E[] dest) {
+            checkForComodification();
+            final int count = Math.min(size, dest.length);
+            System.arraycopy(internal, offset, dest, 0, count);
+            removeRange(offset, offset + count);
+            modified(-count);
+            return count;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public String toString() {
+            checkForComodification();
+            final StringBuilder out = new StringBuilder("[");
+            for (int i = 0; i < size; i++) {
+                out.append(internal[offset + i])
+                   .append((i < size - 1) ? ", " : "");
+            }
+            return out.append("]").toString();
+        }
+
+        @Override
+        public String toStore() {
+            return toString();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            checkForComodification();
+            return new Splitr(offset, offset + size, expectedModCount);
+        }
+
+        @Override
+        public int hashCode() {
+            checkForComodification();
+            int hash = 1;
+            for (int i = 0; i < size; i++) {
+                final E e = internal[offset + i];
+                hash = EllieCollections.HASH_CODE_CONST * hash +
+                        (e != null ? e.hashCode() : 0);
+            }
+            return hash;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean equals(final Object other) {
+            if (this == other) return true;
+            if (!(other instanceof ArrayList.SubList)) return false;
+            final SubList cast = (SubList) other;
+            if (cast.size() != size()) return false;
+            for (int i = 0; i < size; i++) {
+                final E e = get(i);
+                final E oe = cast.get(i);
+                if (e == null ? oe != null : !e.equals(oe)) return false;
+            }
+            return true;
+        }
+
     }
 
 }
\ No newline at end of file
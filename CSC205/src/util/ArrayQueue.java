@@ -1,5 +1,8 @@
 package util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+
 /**
  * Array Queue
  *
@@ -108,4 +111,20 @@ public class ArrayQueue<E> implements Queue<E> {
         return internal.equals(otherEllieStack.internal);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return internal.iterator();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return internal.spliterator();
+    }
+
 }
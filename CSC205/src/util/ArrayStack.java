@@ -1,5 +1,8 @@
 package util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+
 /**
  * Array Stack
  *
@@ -109,4 +112,20 @@ public class ArrayStack<E> implements Stack<E> {
         return internal.equals(otherArrayStack.internal);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return internal.iterator();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return internal.spliterator();
+    }
+
 }
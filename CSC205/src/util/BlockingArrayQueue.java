@@ -0,0 +1,625 @@
+package util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Blocking Array Queue
+ *
+ * <p>A bounded {@code Queue} for handing elements between threads, with
+ * back-pressure: producers wait while it is full, and consumers wait while
+ * it is empty.
+ *
+ * <p>The elements are kept in a circular {@code Array}, as in
+ * {@link ArrayDeque}, whose length is a power of two so that an index
+ * wraps around with a single bit-mask. The {@code Array} is allocated
+ * once, and never grows.
+ *
+ * <p>Insertions and deletions are guarded by two separate locks, so that
+ * producers and consumers never contend with one another. Producers only
+ * ever move the back of the {@code Queue}, and consumers only ever move
+ * the front. The two sides agree on the number of elements through an
+ * atomic count, which also carries the memory effects of each insertion
+ * over to the consumers, and of each deletion over to the producers.
+ *
+ * <p>The {@code drainTo} methods move a whole batch of elements out while
+ * holding the lock once, instead of once per element.
+ *
+ * <p>Every method may be called from any thread. Null elements are not
+ * permitted, as null marks an empty {@code Queue}.
+ *
+ * @param <E> the type
+ * @see java.util.concurrent.LinkedBlockingQueue
+ */
+public class BlockingArrayQueue<E> implements Queue<E> {
+
+    /*
+     * The largest power of two that an Array can have.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The {@code internal Array} used to store the elements. Its length
+     * is always a power of two, at least the capacity.
+     */
+    private final E[] internal;
+
+    /**
+     * The most elements that the {@code Queue} will hold at once.
+     */
+    private final int capacity;
+
+    /**
+     * The index of the element at the front of the {@code Queue}. Guarded
+     * by the {@code takeLock}.
+     */
+    private int front;
+
+    /**
+     * The index that the next insertion will fill. Guarded by the
+     * {@code putLock}.
+     */
+    private int back;
+
+    /**
+     * The number of elements.
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * The lock held by deletions.
+     */
+    private final ReentrantLock takeLock = new ReentrantLock();
+
+    /**
+     * Signalled when the {@code Queue} may no longer be empty.
+     */
+    private final Condition notEmpty = takeLock.newCondition();
+
+    /**
+     * The lock held by insertions.
+     */
+    private final ReentrantLock putLock = new ReentrantLock();
+
+    /**
+     * Signalled when the {@code Queue} may no longer be full.
+     */
+    private final Condition notFull = putLock.newCondition();
+
+    /**
+     * A public {@code constructor} for a {@code Queue} that holds at most
+     * the given number of elements.
+     *
+     * @param capacity the capacity of the {@code Queue}
+     * @throws IllegalArgumentException if the capacity is not positive, or
+     *                                  is larger than 2^30
+     */
+    @SuppressWarnings("unchecked")
+    public BlockingArrayQueue(final int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+            throw new IllegalArgumentException();
+        final int length = capacity <= 2 ? 2 :
+                Integer.highestOneBit(capacity - 1) << 1;
+        internal = (E[]) new Object[length];
+        this.capacity = capacity;
+    }
+
+    /**
+     * A method that returns the most elements the {@code Queue} will hold
+     * at once.
+     *
+     * @return the capacity of the {@code Queue}
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * A method that returns the number of elements that could be inserted
+     * without waiting, at this moment.
+     *
+     * @return the remaining capacity of the {@code Queue}
+     */
+    public int remainingCapacity() {
+        return capacity - count.get();
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * @param input {@code Element}
+     * @throws IllegalStateException if the {@code Queue} is full
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void insert(final E input) {
+        if (!offer(input)) throw new IllegalStateException("Queue full");
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue} if
+     * there is room for it, without waiting.
+     *
+     * @param input {@code Element}
+     * @return whether or not the element was inserted
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offer(final E input) {
+        if (input == null) throw new NullPointerException();
+        if (count.get() == capacity) return false;
+        final int c;
+        putLock.lock();
+        try {
+            if (count.get() == capacity) return false;
+            c = enqueue(input);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) signalNotEmpty();
+        return true;
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue},
+     * waiting for as long as the given timeout for room if need be.
+     *
+     * @param input {@code Element}
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return whether or not the element was inserted
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offer(final E input, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        if (input == null) throw new NullPointerException();
+        long nanos = unit.toNanos(timeout);
+        final int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == capacity) {
+                if (nanos <= 0L) return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            c = enqueue(input);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) signalNotEmpty();
+        return true;
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue},
+     * waiting for room if need be.
+     *
+     * @param input {@code Element}
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public void put(final E input) throws InterruptedException {
+        if (input == null) throw new NullPointerException();
+        final int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == capacity) notFull.await();
+            c = enqueue(input);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) signalNotEmpty();
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Queue} is empty, this method returns null.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}
+     */
+    @Override
+    public E delete() {
+        return poll();
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it, without waiting.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}, or
+     *         null if the {@code Queue} is empty
+     */
+    public E poll() {
+        if (count.get() == 0) return null;
+        final E removal;
+        final int c;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) return null;
+            removal = internal[front];
+            c = dequeue();
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) signalNotFull();
+        return removal;
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it, waiting for as long as the given timeout for one to
+     * arrive if need be.
+     *
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return the {@code Element} at the front of the {@code Queue}, or
+     *         null if the timeout ran out first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E poll(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final E removal;
+        final int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0L) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            removal = internal[front];
+            c = dequeue();
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) signalNotFull();
+        return removal;
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it, waiting for one to arrive if need be.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        final E removal;
+        final int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) notEmpty.await();
+            removal = internal[front];
+            c = dequeue();
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) signalNotFull();
+        return removal;
+    }
+
+    /**
+     * A method to move up to {@code max} elements from the front of the
+     * {@code Queue} into the back of the given {@code Queue}, in order,
+     * without waiting. The lock is taken once for the whole batch.
+     *
+     * @param dest the {@code Queue} to move the elements into
+     * @param max the largest number of elements to move
+     * @return the number of elements moved
+     * @throws IllegalArgumentException if the destination is this
+     *                                  {@code Queue}
+     */
+    public int drainTo(final Queue<? super E> dest, final int max) {
+        if (dest == null) throw new NullPointerException();
+        if (dest == this) throw new IllegalArgumentException();
+        return drain(dest::insert, max);
+    }
+
+    /**
+     * A method to move every element currently in the {@code Queue} into
+     * the back of the given {@code Queue}, in order, without waiting.
+     *
+     * @param dest the {@code Queue} to move the elements into
+     * @return the number of elements moved
+     * @see #drainTo(Queue, int)
+     */
+    public int drainTo(final Queue<? super E> dest) {
+        return drainTo(dest, Integer.MAX_VALUE);
+    }
+
+    /**
+     * A method to move up to {@code max} elements from the front of the
+     * {@code Queue} onto the end of the given {@code List}, in order,
+     * without waiting. The lock is taken once for the whole batch.
+     *
+     * @param dest the {@code List} to move the elements onto
+     * @param max the largest number of elements to move
+     * @return the number of elements moved
+     */
+    public int drainTo(final List<? super E> dest, final int max) {
+        if (dest == null) throw new NullPointerException();
+        return drain(dest::add, max);
+    }
+
+    /**
+     * A method to move every element currently in the {@code Queue} onto
+     * the end of the given {@code List}, in order, without waiting.
+     *
+     * @param dest the {@code List} to move the elements onto
+     * @return the number of elements moved
+     * @see #drainTo(List, int)
+     */
+    public int drainTo(final List<? super E> dest) {
+        return drainTo(dest, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Queue} is empty, this method returns null.
+     */
+    @Override
+    public E peek() {
+        if (count.get() == 0) return null;
+        takeLock.lock();
+        try {
+            return count.get() > 0 ? internal[front] : null;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        final Object[] a = toArray();
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < a.length; i++) {
+            out.append(a[i]).append((i < a.length - 1) ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toStore() {
+        fullyLock();
+        try {
+            StringBuilder out = new StringBuilder("[");
+            for (int i = 0; i < internal.length; i++) {
+                out.append(internal[i]).append((i < internal.length - 1) ? ", " : "");
+            }
+            out.append("]");
+            return out.toString();
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * the hash code is based on identity, as in
+     * {@link java.util.concurrent.LinkedBlockingQueue}.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * equality is based on identity, as in
+     * {@link java.util.concurrent.LinkedBlockingQueue}.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * A method that returns the elements of the {@code Queue} from front to
+     * back, in a new {@code Array}. Both locks are held while they are
+     * copied, so the {@code Array} is an exact snapshot.
+     *
+     * @return an {@code Array} of the elements
+     */
+    public Object[] toArray() {
+        fullyLock();
+        try {
+            final int n = count.get();
+            final Object[] a = new Object[n];
+            final int run = Math.min(n, internal.length - front);
+            System.arraycopy(internal, front, a, 0, run);
+            System.arraycopy(internal, 0, a, run, n - run);
+            return a;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} walks a snapshot of the {@code Queue}, taken
+     * when it is created, from front to back. It never throws
+     * {@link java.util.ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr<>(toArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} covers a snapshot of the {@code Queue},
+     * and reports {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED},
+     * {@link Spliterator#ORDERED} and {@link Spliterator#NONNULL}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(toArray(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /*
+     * A method to store an element at the back and advance the back. Only
+     * called while holding the putLock, when there is room. Returns the
+     * count from just before the insertion.
+     */
+    private int enqueue(final E input) {
+        internal[back] = input;
+        back = (back + 1) & (internal.length - 1);
+        final int c = count.getAndIncrement();
+        if (c + 1 < capacity) notFull.signal();
+        return c;
+    }
+
+    /*
+     * A method to clear the element at the front and advance the front.
+     * Only called while holding the takeLock, when there is an element.
+     * Returns the count from just before the deletion.
+     */
+    private int dequeue() {
+        internal[front] = null;
+        front = (front + 1) & (internal.length - 1);
+        final int c = count.getAndDecrement();
+        if (c > 1) notEmpty.signal();
+        return c;
+    }
+
+    /*
+     * A method to hand up to max elements from the front to the given
+     * Consumer, holding the takeLock once for the whole batch. An element
+     * only leaves the Queue once the Consumer has accepted it, so if the
+     * Consumer throws, that element stays at the front. The front, the
+     * count and any waiting producer are brought up to date either way.
+     */
+    private int drain(final Consumer<? super E> c, final int max) {
+        if (max <= 0) return 0;
+        final int mask = internal.length - 1;
+        int before = 0, i = 0;
+        takeLock.lock();
+        try {
+            final int n = Math.min(max, count.get());
+            try {
+                while (i < n) {
+                    c.accept(internal[front]);
+                    internal[front] = null;
+                    front = (front + 1) & mask;
+                    i++;
+                }
+            } finally {
+                if (i > 0) {
+                    before = count.getAndAdd(-i);
+                    if (before - i > 0) notEmpty.signal();
+                }
+            }
+        } finally {
+            takeLock.unlock();
+            if (before == capacity) signalNotFull();
+        }
+        return i;
+    }
+
+    /*
+     * A method to wake a waiting consumer. Called after an insertion into
+     * an empty Queue, from outside the putLock.
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /*
+     * A method to wake a waiting producer. Called after a deletion from
+     * a full Queue, from outside the takeLock.
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /*
+     * Methods to hold both locks at once, for an exact view of the Queue.
+     */
+
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    /*
+     * Itr
+     *
+     * An Iterator over a snapshot of the Queue.
+     */
+    private static final class Itr<E> implements Iterator<E> {
+
+        private final Object[] snapshot;
+        private int index;
+
+        public Itr(final Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (index >= snapshot.length) throw new NoSuchElementException();
+            return (E) snapshot[index++];
+        }
+
+    }
+
+}
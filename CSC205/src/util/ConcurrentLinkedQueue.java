@@ -0,0 +1,327 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Concurrent Linked Queue
+ *
+ * <p>An unbounded, lock-free {@code Queue} that any number of threads may
+ * insert into and delete from at once, after the algorithm of Michael
+ * and Scott.
+ *
+ * <p>The elements are kept in a chain of {@code Node}s that always starts
+ * with a sentinel. An insertion links a new {@code Node} onto the last one
+ * with a compare-and-set of its {@code next} pointer, and then tries to
+ * swing the tail forward. A deletion swings the head from the sentinel to
+ * the {@code Node} after it, which becomes the new sentinel. Whenever a
+ * thread finds the tail lagging behind the end of the chain, it helps by
+ * swinging the tail forward itself before going on, so that no thread
+ * ever waits for another. {@code Node}s are never reused, so there is no
+ * ABA problem; the garbage collector reclaims a {@code Node} once no
+ * thread can still see it.
+ *
+ * <p>Every method may be called from any thread. {@link #size()}, the
+ * {@code Iterator} and the {@code String} descriptions only give an
+ * approximate view while the {@code Queue} is in use. Null elements are
+ * not permitted, as null marks an empty {@code Queue}.
+ *
+ * @param <E> the type
+ * @see java.util.concurrent.ConcurrentLinkedQueue
+ */
+public class ConcurrentLinkedQueue<E> implements Queue<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            final MethodHandles.Lookup l = MethodHandles.lookup();
+            HEAD = l.findVarHandle(ConcurrentLinkedQueue.class, "head", Node.class);
+            TAIL = l.findVarHandle(ConcurrentLinkedQueue.class, "tail", Node.class);
+            NEXT = l.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The sentinel at the start of the chain. Only ever moved forward, by
+     * compare-and-set.
+     */
+    private volatile Node<E> head;
+
+    /**
+     * The last {@code Node} in the chain, or one that is at most a few
+     * {@code Node}s behind it. Only ever moved forward, by compare-and-set.
+     */
+    private volatile Node<E> tail;
+
+    /*
+     * Node
+     *
+     * A Node in the chain. Its element is written before the Node is
+     * published, and cleared once the Node has become the sentinel. Its
+     * next pointer is set exactly once, by compare-and-set.
+     */
+    private static final class Node<E> {
+
+        public E store;
+        public volatile Node<E> next;
+
+        public Node(final E store) {
+            this.store = store;
+        }
+
+    }
+
+    /**
+     * A public {@code constructor} to instantiate an empty
+     * {@code Queue}, holding only its sentinel.
+     */
+    public ConcurrentLinkedQueue() {
+        head = tail = new Node<>(null);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The {@code Queue} is unbounded, so this never fails.
+     *
+     * @param input {@code Element}
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void insert(final E input) {
+        if (input == null) throw new NullPointerException();
+        final Node<E> n = new Node<>(input);
+        for (;;) {
+            final Node<E> t = tail, next = t.next;
+            if (t != tail) continue;
+            if (next == null) {
+                if (NEXT.compareAndSet(t, null, n)) {
+                    TAIL.compareAndSet(this, t, n);
+                    return;
+                }
+            } else {
+                TAIL.compareAndSet(this, t, next);
+            }
+        }
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue}.
+     * As the {@code Queue} is unbounded, there is always room.
+     *
+     * @param input {@code Element}
+     * @return true
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offer(final E input) {
+        insert(input);
+        return true;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Queue} is empty, this method returns null.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}
+     */
+    @Override
+    public E delete() {
+        return poll();
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}, or
+     *         null if the {@code Queue} is empty
+     */
+    public E poll() {
+        for (;;) {
+            final Node<E> h = head, t = tail, next = h.next;
+            if (h != head) continue;
+            if (h == t) {
+                if (next == null) return null;
+                TAIL.compareAndSet(this, t, next);
+            } else {
+                final E removal = next.store;
+                if (HEAD.compareAndSet(this, h, next)) {
+                    next.store = null;
+                    return removal;
+                }
+            }
+        }
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Queue} is empty, this method returns null.
+     */
+    @Override
+    public E peek() {
+        for (;;) {
+            final Node<E> next = head.next;
+            if (next == null) return null;
+            final E e = next.store;
+            if (e != null) return e;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The {@code Queue} keeps no count, so this walks the chain. While
+     * the {@code Queue} is in use, the result is only a snapshot.
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (final Iterator<E> it = iterator(); it.hasNext(); it.next())
+            if (++count == Integer.MAX_VALUE) break;
+        return count;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+        for (final Iterator<E> it = iterator(); it.hasNext(); ) {
+            out.append(it.next()).append(it.hasNext() ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The chain is shown from the sentinel onwards, one {@code Node}
+     * per entry.
+     */
+    @Override
+    public String toStore() {
+        StringBuilder out = new StringBuilder("[");
+        for (Node<E> n = head; n != null; ) {
+            out.append(n.store);
+            n = n.next;
+            out.append(n != null ? " -> " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * the hash code is based on identity, as in
+     * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * equality is based on identity, as in
+     * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} is weakly consistent. It never throws
+     * {@link java.util.ConcurrentModificationException}, and it follows the
+     * chain from the sentinel it starts at for as long as {@code Node}s can
+     * be reached. Elements that are deleted in the meantime are skipped.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} is backed by the weakly consistent
+     * {@code Iterator}, and reports {@link Spliterator#ORDERED},
+     * {@link Spliterator#NONNULL} and {@link Spliterator#CONCURRENT}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL |
+                        Spliterator.CONCURRENT);
+    }
+
+    /*
+     * Itr
+     *
+     * A weakly consistent Iterator that follows the chain of Nodes. Each
+     * element is fetched ahead of time, so that hasNext() agrees with the
+     * following call to next().
+     */
+    private final class Itr implements Iterator<E> {
+
+        private Node<E> node = head;
+        private E next;
+
+        public Itr() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while ((node = node.next) != null) {
+                final E e = node.store;
+                if (e != null) {
+                    next = e;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            final E e = next;
+            if (e == null) throw new NoSuchElementException();
+            advance();
+            return e;
+        }
+
+    }
+
+}
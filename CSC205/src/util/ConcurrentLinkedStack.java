@@ -0,0 +1,322 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Concurrent Linked Stack
+ *
+ * <p>An unbounded, lock-free {@code Stack} that any number of threads may
+ * push onto and pop from at once: a Treiber stack, with the elimination
+ * back-off of Hendler, Shavit and Yerushalmi.
+ *
+ * <p>The elements are kept in a chain of {@code Node}s hanging from the
+ * top. A push points a new {@code Node} at the current top and swings the
+ * top to it with a single compare-and-set; a pop swings the top to the
+ * {@code Node} below. A {@code Node} never changes once it is in the
+ * chain, so a snapshot of the top is a snapshot of the whole
+ * {@code Stack}.
+ *
+ * <p>Under contention, most of those compare-and-sets fail. Rather than
+ * retry at once, a thread that loses the race backs off to the elimination
+ * array. A pusher leaves its {@code Node} in a random slot and waits there
+ * briefly; a popper that loses the race looks in a random slot, and if it
+ * finds a {@code Node} there, takes it. A push and a pop that meet this
+ * way cancel each other out without ever touching the top, so adding
+ * threads spreads the work over the slots instead of piling it onto a
+ * single word.
+ *
+ * <p>Every method may be called from any thread. {@link #size()} and the
+ * {@code String} descriptions only give an approximate view while the
+ * {@code Stack} is in use. Null elements are not permitted, as null marks
+ * an empty {@code Stack}.
+ *
+ * @param <E> the type
+ */
+public class ConcurrentLinkedStack<E> implements Stack<E> {
+
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(
+                    ConcurrentLinkedStack.class, "top", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * The most slots an elimination array is given by default. More
+     * slots than threads only make meetings less likely.
+     */
+    private static final int MAXIMUM_DEFAULT_WIDTH = 32;
+
+    /*
+     * The number of times a pusher checks its slot before withdrawing
+     * its Node and going back to the top.
+     */
+    private static final int SPINS = 64;
+
+    /**
+     * The {@code Node} on top of the {@code Stack}, or null if it is
+     * empty.
+     */
+    private volatile Node<E> top;
+
+    /**
+     * The elimination array, where pushes that back off wait for a pop.
+     */
+    private final AtomicReferenceArray<Node<E>> slots;
+
+    /*
+     * Node
+     *
+     * A Node in the chain. Its next pointer is set before the Node is
+     * published, and never changes afterwards.
+     */
+    private static final class Node<E> {
+
+        public final E store;
+        public Node<E> next;
+
+        public Node(final E store) {
+            this.store = store;
+        }
+
+    }
+
+    /**
+     * A public {@code constructor} for an empty {@code Stack}, with an
+     * elimination array sized to the number of processors.
+     */
+    public ConcurrentLinkedStack() {
+        this(Math.min(Runtime.getRuntime().availableProcessors(),
+                MAXIMUM_DEFAULT_WIDTH));
+    }
+
+    /**
+     * A secondary {@code constructor} for an empty {@code Stack}, with an
+     * elimination array of the given width.
+     *
+     * @param eliminationWidth the number of elimination slots
+     * @throws IllegalArgumentException if the width is not positive
+     */
+    public ConcurrentLinkedStack(final int eliminationWidth) {
+        if (eliminationWidth <= 0) throw new IllegalArgumentException();
+        slots = new AtomicReferenceArray<>(eliminationWidth);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * @param element the element being pushed
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void push(final E element) {
+        if (element == null) throw new NullPointerException();
+        final Node<E> n = new Node<>(element);
+        for (;;) {
+            final Node<E> h = top;
+            n.next = h;
+            if (TOP.compareAndSet(this, h, n)) return;
+            if (eliminatePush(n)) return;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Stack} is empty, this method returns null.
+     *
+     * @return the element on top of the {@code Stack}
+     */
+    @Override
+    public E pop() {
+        for (;;) {
+            final Node<E> h = top;
+            if (h == null) return null;
+            if (TOP.compareAndSet(this, h, h.next)) return h.store;
+            final Node<E> n = eliminatePop();
+            if (n != null) return n.store;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Stack} is empty, this method returns null.
+     */
+    @Override
+    public E peek() {
+        final Node<E> h = top;
+        return h == null ? null : h.store;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The {@code Stack} keeps no count, so this walks the chain.
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node<E> n = top; n != null && count < Integer.MAX_VALUE; n = n.next)
+            count++;
+        return count;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return top == null;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+        for (Node<E> n = top; n != null; n = n.next) {
+            out.append(n.store).append(n.next != null ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The chain is shown from the top down, followed by the contents of
+     * the elimination slots.
+     */
+    @Override
+    public String toStore() {
+        StringBuilder out = new StringBuilder("[");
+        for (Node<E> n = top; n != null; n = n.next) {
+            out.append(n.store).append(n.next != null ? " -> " : "");
+        }
+        out.append("] [");
+        for (int i = 0; i < slots.length(); i++) {
+            final Node<E> n = slots.get(i);
+            out.append(n == null ? null : n.store)
+               .append((i < slots.length() - 1) ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Stack} change under other threads,
+     * the hash code is based on identity.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Stack} change under other threads,
+     * equality is based on identity.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} walks the {@code Stack} from the top down, as
+     * it was when the {@code Iterator} was created. As {@code Node}s never
+     * change, it is an exact snapshot, and never throws
+     * {@link java.util.ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr<>(top);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} covers a snapshot of the {@code Stack},
+     * and reports {@link Spliterator#ORDERED}, {@link Spliterator#NONNULL}
+     * and {@link Spliterator#IMMUTABLE}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL |
+                        Spliterator.IMMUTABLE);
+    }
+
+    /*
+     * A method that leaves the given Node in a random elimination slot,
+     * and waits a short while for a popper to take it. If no popper
+     * comes, the Node is withdrawn; if the withdrawal fails, a popper got
+     * there first. Returns whether or not the push was eliminated.
+     */
+    private boolean eliminatePush(final Node<E> n) {
+        final int i = ThreadLocalRandom.current().nextInt(slots.length());
+        if (!slots.compareAndSet(i, null, n)) return false;
+        for (int spin = 0; spin < SPINS; spin++) {
+            if (slots.get(i) != n) return true;
+            Thread.onSpinWait();
+        }
+        return !slots.compareAndSet(i, n, null);
+    }
+
+    /*
+     * A method that looks in a random elimination slot for a waiting
+     * push, and takes its Node if there is one. Returns null otherwise.
+     */
+    private Node<E> eliminatePop() {
+        final int i = ThreadLocalRandom.current().nextInt(slots.length());
+        final Node<E> n = slots.get(i);
+        return n != null && slots.compareAndSet(i, n, null) ? n : null;
+    }
+
+    /*
+     * Itr
+     *
+     * An Iterator over an immutable chain of Nodes.
+     */
+    private static final class Itr<E> implements Iterator<E> {
+
+        private Node<E> node;
+
+        public Itr(final Node<E> node) {
+            this.node = node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        @Override
+        public E next() {
+            final Node<E> n = node;
+            if (n == null) throw new NoSuchElementException();
+            node = n.next;
+            return n.store;
+        }
+
+    }
+
+}
@@ -1,6 +1,12 @@
 package util;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Ellie Collections
@@ -29,6 +35,16 @@ import java.util.Random;
  * An {@link UnsupportedOperationException} will be thrown in the case of attempted
  * mutation.
  *
+ * <p>
+ * The static factory methods {@code synchronizedStack(Stack)},
+ * {@code synchronizedQueue(Queue)}, {@code synchronizedDeque(Deque)},
+ * {@code synchronizedList(List)} and {@code synchronizedMap(Map)} wrap a collection
+ * so that every method holds the wrapper's monitor. {@code readWriteList(List)} and
+ * {@code readWriteMap(Map)} guard a collection with a read-write lock instead, so
+ * that any number of lookups may proceed in parallel, and only changes are
+ * serialized. In every case, the wrapped collection must not be used directly
+ * afterwards, and iteration runs over a snapshot taken under the lock.
+ *
  * @author Ellie Moore
  * @version 1.0, 03.14.2020
  */
@@ -53,6 +69,13 @@ public final class EllieCollections {
      */
     public static final int HASH_CODE_CONST = 31;
 
+    /*
+     * The multiplicative inverse of HASH_CODE_CONST modulo 2^32. Lets
+     * an ordered hash code drop its last term, as a multiplication by
+     * HASH_CODE_CONST can be undone exactly in int arithmetic.
+     */
+    static final int HASH_CODE_INVERSE = -1108378657;
+
     /**
      * A private constructor to make the class un-instantiable.
      */
@@ -73,23 +96,24 @@ public final class EllieCollections {
 
     /**
      * This is a {@code List} sorting method that relies on an {@code EllieComparator}
-     * implementation. {@code List}s are dumped to an Array, sorted, and re-built
-     * sequentially.
+     * implementation. {@code List}s are drained into an Array, sorted, and
+     * re-built with a single bulk append.
      *
      * @param list the {@code List} to be sorted
      * @param c the {@code Comparator} to be used
      * @param <E>  the type of the elements belonging to the {@code List}
      */
-    @SuppressWarnings("Unchecked")
+    @SuppressWarnings("unchecked")
     public static <E> void sort(final List<E> list, final EllieComparator<E> c) {
-        E[] t = (E[]) list.toArray();
+        E[] t = (E[]) new Object[list.size()];
+        list.drainTo(t);
         if (t.length < INSERTION_THRESHOLD)
             InsertionSort.sort(t, 0, t.length - 1, c, true);
         else if (t.length < QUICK_THRESHOLD)
             DualPivotQuickSort.sort(t, 0, t.length - 1, c, true);
         else
             MergeSort.sort(t, 0, t.length - 1, c);
-        for (E e : t) list.add(e);
+        list.addAll(t);
     }
 
     /**
@@ -104,6 +128,163 @@ public final class EllieCollections {
         return new UnmodifiableList<>(list);
     }
 
+    /**
+     * This is a static factory method to wrap a {@code Stack} in a
+     * {@code SynchronizedStack}, every method of which holds the
+     * wrapper's monitor.
+     *
+     * @param stack the {@code Stack} to be wrapped
+     * @param <T>  the type
+     * @return a {@code SynchronizedStack}
+     */
+    public static <T> Stack<T> synchronizedStack(final Stack<T> stack) {
+        if (stack == null) throw new NullPointerException();
+        return new SynchronizedStack<>(stack);
+    }
+
+    /**
+     * This is a static factory method to wrap a {@code Queue} in a
+     * {@code SynchronizedQueue}, every method of which holds the
+     * wrapper's monitor.
+     *
+     * @param queue the {@code Queue} to be wrapped
+     * @param <T>  the type
+     * @return a {@code SynchronizedQueue}
+     */
+    public static <T> Queue<T> synchronizedQueue(final Queue<T> queue) {
+        if (queue == null) throw new NullPointerException();
+        return new SynchronizedQueue<>(queue);
+    }
+
+    /**
+     * This is a static factory method to wrap a {@code Deque} in a
+     * {@code SynchronizedDeque}, every method of which holds the
+     * wrapper's monitor.
+     *
+     * @param deque the {@code Deque} to be wrapped
+     * @param <T>  the type
+     * @return a {@code SynchronizedDeque}
+     */
+    public static <T> Deque<T> synchronizedDeque(final Deque<T> deque) {
+        if (deque == null) throw new NullPointerException();
+        return new SynchronizedDeque<>(deque);
+    }
+
+    /**
+     * This is a static factory method to wrap a {@code List} in a
+     * {@code SynchronizedList}, every method of which holds the
+     * wrapper's monitor.
+     *
+     * @param list the {@code List} to be wrapped
+     * @param <T>  the type
+     * @return a {@code SynchronizedList}
+     */
+    public static <T> List<T> synchronizedList(final List<T> list) {
+        if (list == null) throw new NullPointerException();
+        return new SynchronizedList<>(list);
+    }
+
+    /**
+     * This is a static factory method to wrap a {@code Map} in a
+     * {@code SynchronizedMap}, every method of which holds the
+     * wrapper's monitor.
+     *
+     * @param map the {@code Map} to be wrapped
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @return a {@code SynchronizedMap}
+     */
+    public static <K, V> Map<K, V> synchronizedMap(final Map<K, V> map) {
+        if (map == null) throw new NullPointerException();
+        return new SynchronizedMap<>(map);
+    }
+
+    /**
+     * This is a static factory method to wrap a {@code List} in a
+     * {@code ReadWriteList}. Lookups hold the read lock, so they proceed
+     * in parallel; everything else holds the write lock.
+     *
+     * <p>
+     * Only {@code get}, {@code size}, {@code isEmpty}, {@code toArray} and the
+     * {@code String} descriptions are treated as lookups, and only when the
+     * {@code List}'s own versions of them change nothing. That is true of
+     * {@link ArrayList}, {@link GapBufferList} and {@link IndexedSkipList}.
+     * {@link LinkedList}, {@link SinglyLinkedList} and {@link UnrolledLinkedList}
+     * remember where their last lookup ended, so they should be wrapped with
+     * {@code synchronizedList(List)} instead. {@code indexOf}, {@code hashCode}
+     * and {@code equals} may fill in a cache, so they always hold the write lock.
+     *
+     * @param list the {@code List} to be wrapped
+     * @param <T>  the type
+     * @return a {@code ReadWriteList}
+     */
+    public static <T> List<T> readWriteList(final List<T> list) {
+        if (list == null) throw new NullPointerException();
+        return new ReadWriteList<>(list);
+    }
+
+    /**
+     * This is a static factory method to wrap a {@code Map} in a
+     * {@code ReadWriteMap}. Lookups hold the read lock, so they proceed
+     * in parallel; everything else holds the write lock.
+     *
+     * <p>
+     * Only {@code get}, {@code size}, {@code isEmpty} and the {@code String}
+     * descriptions are treated as lookups, and only when the {@code Map}'s own
+     * versions of them change nothing, as is true of {@link TreeMap}.
+     *
+     * @param map the {@code Map} to be wrapped
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @return a {@code ReadWriteMap}
+     */
+    public static <K, V> Map<K, V> readWriteMap(final Map<K, V> map) {
+        if (map == null) throw new NullPointerException();
+        return new ReadWriteMap<>(map);
+    }
+
+    /*
+     * A method that copies the elements of the given Iterable into a new
+     * Array, for iteration outside of a lock. The caller holds the lock.
+     */
+    private static Object[] copyOf(final Iterable<?> source, final int size) {
+        Object[] out = new Object[size];
+        int i = 0;
+        for (final Object e : source) {
+            if (i == out.length) out = Arrays.copyOf(out, (i << 1) + 1);
+            out[i++] = e;
+        }
+        return i == out.length ? out : Arrays.copyOf(out, i);
+    }
+
+    /*
+     * A method that returns an Iterator over the given snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Iterator<E> iteratorOf(final Object[] snapshot) {
+        return (Iterator<E>) Spliterators.iterator(spliteratorOf(snapshot));
+    }
+
+    /*
+     * A method that returns a Spliterator over the given snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Spliterator<E> spliteratorOf(final Object[] snapshot) {
+        return (Spliterator<E>) Spliterators.spliterator(snapshot,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /*
+     * A method that raises HASH_CODE_CONST to the given power in
+     * int arithmetic, by repeated squaring.
+     */
+    static int hashPower(int exponent) {
+        int result = 1, base = HASH_CODE_CONST;
+        for (; exponent > 0; exponent >>>= 1, base *= base)
+            if ((exponent & 1) != 0) result *= base;
+        return result;
+    }
+
     private static final class UnmodifiableList<E> implements List<E> {
 
         final List<E> internal;
@@ -139,6 +320,36 @@ public final class EllieCollections {
 
         @Override
         public Object[] toArray() {
+            return internal.toArray();
+        }
+
+        @Override
+        public E[] toArray(E[] dest) {
+            return internal.toArray(dest);
+        }
+
+        @Override
+        public int drainTo(E[] dest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<E> addAll(E[] array) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<E> addAll(List<E> list) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addAll(int i, E[] array) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addAll(int i, List<E> list) {
             throw new UnsupportedOperationException();
         }
 
@@ -177,6 +388,16 @@ public final class EllieCollections {
             return internal.toStore();
         }
 
+        @Override
+        public Iterator<E> iterator() {
+            return internal.iterator();
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return internal.spliterator();
+        }
+
         @Override
         public int hashCode() {
             return internal.hashCode();
@@ -189,6 +410,720 @@ public final class EllieCollections {
 
     }
 
+    private static final class SynchronizedStack<E> implements Stack<E> {
+
+        final Stack<E> internal;
+
+        public SynchronizedStack(final Stack<E> stack) {
+            internal = stack;
+        }
+
+        @Override
+        public synchronized void push(E e) {
+            internal.push(e);
+        }
+
+        @Override
+        public synchronized E pop() {
+            return internal.pop();
+        }
+
+        @Override
+        public synchronized E peek() {
+            return internal.peek();
+        }
+
+        @Override
+        public synchronized int size() {
+            return internal.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return internal.isEmpty();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return internal.toString();
+        }
+
+        @Override
+        public synchronized String toStore() {
+            return internal.toStore();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return iteratorOf(snapshot());
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return spliteratorOf(snapshot());
+        }
+
+        @Override
+        public synchronized int hashCode() {
+            return internal.hashCode();
+        }
+
+        @Override
+        public synchronized boolean equals(final Object o) {
+            return internal.equals(o);
+        }
+
+        private synchronized Object[] snapshot() {
+            return copyOf(internal, internal.size());
+        }
+
+    }
+
+    private static class SynchronizedQueue<E> implements Queue<E> {
+
+        final Queue<E> internal;
+
+        public SynchronizedQueue(final Queue<E> queue) {
+            internal = queue;
+        }
+
+        @Override
+        public synchronized void insert(E e) {
+            internal.insert(e);
+        }
+
+        @Override
+        public synchronized E delete() {
+            return internal.delete();
+        }
+
+        @Override
+        public synchronized E peek() {
+            return internal.peek();
+        }
+
+        @Override
+        public synchronized int size() {
+            return internal.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return internal.isEmpty();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return internal.toString();
+        }
+
+        @Override
+        public synchronized String toStore() {
+            return internal.toStore();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return iteratorOf(snapshot());
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return spliteratorOf(snapshot());
+        }
+
+        @Override
+        public synchronized int hashCode() {
+            return internal.hashCode();
+        }
+
+        @Override
+        public synchronized boolean equals(final Object o) {
+            return internal.equals(o);
+        }
+
+        private synchronized Object[] snapshot() {
+            return copyOf(internal, internal.size());
+        }
+
+    }
+
+    private static final class SynchronizedDeque<E> extends SynchronizedQueue<E>
+            implements Deque<E> {
+
+        final Deque<E> deque;
+
+        public SynchronizedDeque(final Deque<E> deque) {
+            super(deque);
+            this.deque = deque;
+        }
+
+        @Override
+        public synchronized E deleteFromBack() {
+            return deque.deleteFromBack();
+        }
+
+        @Override
+        public synchronized void insertOnFront(E e) {
+            deque.insertOnFront(e);
+        }
+
+        @Override
+        public synchronized E peekFromBack() {
+            return deque.peekFromBack();
+        }
+
+    }
+
+    private static final class SynchronizedList<E> implements List<E> {
+
+        final List<E> internal;
+
+        public SynchronizedList(final List<E> list) {
+            internal = list;
+        }
+
+        @Override
+        public synchronized E get(int i) {
+            return internal.get(i);
+        }
+
+        @Override
+        public synchronized E remove(int i) {
+            return internal.remove(i);
+        }
+
+        @Override
+        public synchronized E set(int i, E e) {
+            return internal.set(i, e);
+        }
+
+        @Override
+        public synchronized void add(int i, E e) {
+            internal.add(i, e);
+        }
+
+        @Override
+        public synchronized List<E> add(E e) {
+            internal.add(e);
+            return this;
+        }
+
+        @Override
+        public synchronized Object[] toArray() {
+            return internal.toArray();
+        }
+
+        @Override
+        public synchronized E[] toArray(E[] dest) {
+            return internal.toArray(dest);
+        }
+
+        @Override
+        public synchronized int drainTo(E[] dest) {
+            return internal.drainTo(dest);
+        }
+
+        @Override
+        public synchronized List<E> addAll(E[] array) {
+            internal.addAll(array);
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<E> addAll(List<E> list) {
+            return addAll((E[]) list.toArray());
+        }
+
+        @Override
+        public synchronized void addAll(int i, E[] array) {
+            internal.addAll(i, array);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void addAll(int i, List<E> list) {
+            addAll(i, (E[]) list.toArray());
+        }
+
+        @Override
+        public synchronized boolean replace(E e, E ex) {
+            return internal.replace(e, ex);
+        }
+
+        @Override
+        public synchronized boolean remove(E e) {
+            return internal.remove(e);
+        }
+
+        @Override
+        public synchronized int indexOf(E e) {
+            return internal.indexOf(e);
+        }
+
+        @Override
+        public synchronized int size() {
+            return internal.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return internal.isEmpty();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return internal.toString();
+        }
+
+        @Override
+        public synchronized String toStore() {
+            return internal.toStore();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return iteratorOf(toArray());
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return spliteratorOf(toArray());
+        }
+
+        @Override
+        public synchronized int hashCode() {
+            return internal.hashCode();
+        }
+
+        @Override
+        public synchronized boolean equals(final Object o) {
+            return internal.equals(o);
+        }
+
+    }
+
+    private static final class SynchronizedMap<K, V> implements Map<K, V> {
+
+        final Map<K, V> internal;
+
+        public SynchronizedMap(final Map<K, V> map) {
+            internal = map;
+        }
+
+        @Override
+        public synchronized void put(K k, V v) {
+            internal.put(k, v);
+        }
+
+        @Override
+        public synchronized V get(K k) {
+            return internal.get(k);
+        }
+
+        @Override
+        public synchronized V remove(K k) {
+            return internal.remove(k);
+        }
+
+        @Override
+        public synchronized int size() {
+            return internal.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return internal.isEmpty();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return internal.toString();
+        }
+
+        @Override
+        public synchronized String toStore() {
+            return internal.toStore();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return iteratorOf(snapshot());
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return spliteratorOf(snapshot());
+        }
+
+        @Override
+        public synchronized int hashCode() {
+            return internal.hashCode();
+        }
+
+        @Override
+        public synchronized boolean equals(final Object o) {
+            return internal.equals(o);
+        }
+
+        private synchronized Object[] snapshot() {
+            return copyOf(internal, internal.size());
+        }
+
+    }
+
+    private static final class ReadWriteList<E> implements List<E> {
+
+        final List<E> internal;
+        final Lock read, write;
+
+        public ReadWriteList(final List<E> list) {
+            internal = list;
+            final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+            read = lock.readLock();
+            write = lock.writeLock();
+        }
+
+        @Override
+        public E get(int i) {
+            read.lock();
+            try {
+                return internal.get(i);
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public E remove(int i) {
+            write.lock();
+            try {
+                return internal.remove(i);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public E set(int i, E e) {
+            write.lock();
+            try {
+                return internal.set(i, e);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public void add(int i, E e) {
+            write.lock();
+            try {
+                internal.add(i, e);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public List<E> add(E e) {
+            write.lock();
+            try {
+                internal.add(e);
+                return this;
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public Object[] toArray() {
+            read.lock();
+            try {
+                return internal.toArray();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public E[] toArray(E[] dest) {
+            read.lock();
+            try {
+                return internal.toArray(dest);
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public int drainTo(E[] dest) {
+            write.lock();
+            try {
+                return internal.drainTo(dest);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public List<E> addAll(E[] array) {
+            write.lock();
+            try {
+                internal.addAll(array);
+                return this;
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<E> addAll(List<E> list) {
+            return addAll((E[]) list.toArray());
+        }
+
+        @Override
+        public void addAll(int i, E[] array) {
+            write.lock();
+            try {
+                internal.addAll(i, array);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void addAll(int i, List<E> list) {
+            addAll(i, (E[]) list.toArray());
+        }
+
+        @Override
+        public boolean replace(E e, E ex) {
+            write.lock();
+            try {
+                return internal.replace(e, ex);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public boolean remove(E e) {
+            write.lock();
+            try {
+                return internal.remove(e);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public int indexOf(E e) {
+            write.lock();
+            try {
+                return internal.indexOf(e);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            read.lock();
+            try {
+                return internal.size();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            read.lock();
+            try {
+                return internal.isEmpty();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public String toString() {
+            read.lock();
+            try {
+                return internal.toString();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public String toStore() {
+            read.lock();
+            try {
+                return internal.toStore();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return iteratorOf(toArray());
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return spliteratorOf(toArray());
+        }
+
+        @Override
+        public int hashCode() {
+            write.lock();
+            try {
+                return internal.hashCode();
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            write.lock();
+            try {
+                return internal.equals(o);
+            } finally {
+                write.unlock();
+            }
+        }
+
+    }
+
+    private static final class ReadWriteMap<K, V> implements Map<K, V> {
+
+        final Map<K, V> internal;
+        final Lock read, write;
+
+        public ReadWriteMap(final Map<K, V> map) {
+            internal = map;
+            final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+            read = lock.readLock();
+            write = lock.writeLock();
+        }
+
+        @Override
+        public void put(K k, V v) {
+            write.lock();
+            try {
+                internal.put(k, v);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public V get(K k) {
+            read.lock();
+            try {
+                return internal.get(k);
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public V remove(K k) {
+            write.lock();
+            try {
+                return internal.remove(k);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            read.lock();
+            try {
+                return internal.size();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            read.lock();
+            try {
+                return internal.isEmpty();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public String toString() {
+            read.lock();
+            try {
+                return internal.toString();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public String toStore() {
+            read.lock();
+            try {
+                return internal.toStore();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return iteratorOf(snapshot());
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return spliteratorOf(snapshot());
+        }
+
+        @Override
+        public int hashCode() {
+            write.lock();
+            try {
+                return internal.hashCode();
+            } finally {
+                write.unlock();
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            write.lock();
+            try {
+                return internal.equals(o);
+            } finally {
+                write.unlock();
+            }
+        }
+
+        private Object[] snapshot() {
+            read.lock();
+            try {
+                return copyOf(internal, internal.size());
+            } finally {
+                read.unlock();
+            }
+        }
+
+    }
+
 }
 
 class test {
@@ -0,0 +1,468 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Event Ring
+ *
+ * <p>A ring of preallocated, mutable event slots for passing a stream of
+ * events from a single producer thread through one or more stages of
+ * consumer threads, in the style of the LMAX Disruptor.
+ *
+ * <p>Every slot is filled by a factory when the ring is built. After that,
+ * the producer never inserts an event: it claims the next sequence number,
+ * writes into the slot that the sequence maps to, and publishes the
+ * sequence. Sequences are ever-increasing {@code long}s, and the capacity
+ * is a power of two, so a sequence maps to its slot with a single
+ * bit-mask. Nothing is allocated once the ring and its stages are built.
+ *
+ * <p>Each {@link Stage} runs a {@link Handler} on its own thread, and keeps
+ * its own sequence: the last event it has finished with. A stage may be
+ * made to follow other stages, in which case it only sees an event once
+ * all of them have finished with it; otherwise it follows the producer.
+ * Whenever a stage wakes up, it handles every event up to the highest
+ * sequence available to it as one batch, and only then publishes its own
+ * sequence, so a stage that falls behind catches up in large steps rather
+ * than paying for every event. The producer, in turn, never claims a slot
+ * that the last stages in the graph have not yet finished with.
+ *
+ * <p>How a thread waits, for the producer to publish or for a slow stage to
+ * move, is chosen by a {@link WaitStrategy}: busy-spinning gives the lowest
+ * latency for a dedicated core, while yielding and parking give the core
+ * back at the cost of a longer wake-up.
+ *
+ * <p>{@link #next()}, {@link #get(long)} and {@link #publish(long)} may
+ * only be called by the producer. Stages must all be created before the
+ * producer starts.
+ *
+ * @param <T> the type of the events
+ */
+public final class EventRing<T> {
+
+    /**
+     * A {@code Handler} of the events seen by a {@link Stage}.
+     *
+     * @param <T> the type of the events
+     */
+    @FunctionalInterface
+    public interface Handler<T> {
+
+        /**
+         * A method to handle one event. The event belongs to the ring, and
+         * must not be kept after the method returns.
+         *
+         * <p>A {@code Handler} should not throw. If it does, the
+         * {@code Stage} publishes the events before this one and stops,
+         * and the producer and any later stages will wait at this event
+         * until the {@code Stage} is run again.
+         *
+         * @param event the event in the slot
+         * @param sequence the sequence of the event
+         * @param endOfBatch whether or not this is the last event available
+         *                   to the {@code Stage} for now
+         */
+        void onEvent(T event, long sequence, boolean endOfBatch);
+
+    }
+
+    /**
+     * Ways for a thread to wait for a sequence to move.
+     */
+    public enum WaitStrategy {
+
+        /**
+         * Spin on the processor until the sequence moves. The lowest
+         * latency, but it keeps a core busy.
+         */
+        BUSY_SPIN {
+            @Override
+            int idle(final int counter) {
+                Thread.onSpinWait();
+                return counter + 1;
+            }
+        },
+
+        /**
+         * Spin briefly, then yield the processor between checks.
+         */
+        YIELD {
+            @Override
+            int idle(final int counter) {
+                if (counter < SPIN_TRIES) Thread.onSpinWait();
+                else Thread.yield();
+                return counter + 1;
+            }
+        },
+
+        /**
+         * Spin briefly, then yield, then park for a short while between
+         * checks. The gentlest on the processor, with the longest wake-up.
+         */
+        PARK {
+            @Override
+            int idle(final int counter) {
+                if (counter < SPIN_TRIES) Thread.onSpinWait();
+                else if (counter < SPIN_TRIES + YIELD_TRIES) Thread.yield();
+                else LockSupport.parkNanos(PARK_NANOS);
+                return counter + 1;
+            }
+        };
+
+        /*
+         * The number of checks that spin, and then yield, before the
+         * next kind of waiting, and how long a park lasts.
+         */
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long PARK_NANOS = 1000L;
+
+        /*
+         * A method to wait once, given how many times the thread has
+         * waited already. Returns the new count.
+         */
+        abstract int idle(int counter);
+
+    }
+
+    /*
+     * The largest power of two that an Array can have.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The preallocated event slots. The length is a power of two.
+     */
+    private final T[] slots;
+
+    /**
+     * The length of the slots, less one. A sequence is masked with it to
+     * find its slot.
+     */
+    private final int mask;
+
+    /**
+     * How threads wait on this ring.
+     */
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * The highest sequence that the producer has published.
+     */
+    private final Sequence cursor = new Sequence();
+
+    /**
+     * The sequences of the last stages in the graph, which the producer
+     * must not lap. Replaced whenever a stage is created.
+     */
+    private volatile Sequence[] gating = new Sequence[0];
+
+    /**
+     * The highest sequence that the producer has claimed. Producer only.
+     */
+    private long claimed = -1L;
+
+    /**
+     * The producer's last look at the slowest of the gating sequences.
+     * Producer only.
+     */
+    private long gatingCache = -1L;
+
+    /**
+     * A public {@code constructor} for a ring with at least the given
+     * number of slots, each filled by the given factory.
+     *
+     * @param capacity the number of slots, rounded up to a power of two
+     * @param factory the factory that fills each slot
+     * @param waitStrategy how threads wait on this ring
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public EventRing(final int capacity, final Supplier<? extends T> factory,
+                     final WaitStrategy waitStrategy) {
+        if (capacity <= 0) throw new IllegalArgumentException();
+        if (factory == null || waitStrategy == null)
+            throw new NullPointerException();
+        final int length = capacity <= 2 ? 2 : capacity >= MAXIMUM_CAPACITY ?
+                MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+        slots = (T[]) new Object[length];
+        for (int i = 0; i < length; i++) slots[i] = factory.get();
+        mask = length - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * A method that returns the number of slots in the ring.
+     *
+     * @return the capacity of the ring
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * A method that returns the highest sequence that has been published,
+     * or -1 if there isn't one yet.
+     *
+     * @return the published sequence
+     */
+    public long published() {
+        return cursor.get();
+    }
+
+    /**
+     * A method to create a {@code Stage} that runs the given {@code Handler}
+     * over every event, after the given stages have finished with it. With
+     * no stages given, the new {@code Stage} follows the producer. The
+     * {@code Stage} must then be run on a thread of its own.
+     *
+     * @param handler the {@code Handler} of the events
+     * @param after the stages that must see each event first
+     * @return the new {@code Stage}
+     * @throws IllegalArgumentException if one of the stages belongs to a
+     *                                  different ring
+     */
+    @SafeVarargs
+    public final Stage stage(final Handler<? super T> handler, final Stage... after) {
+        if (handler == null) throw new NullPointerException();
+        final Sequence[] dependencies = new Sequence[after.length];
+        for (int i = 0; i < after.length; i++) {
+            if (after[i].ring() != this) throw new IllegalArgumentException();
+            dependencies[i] = after[i].sequence;
+        }
+        final Stage s = new Stage(handler, dependencies);
+        synchronized (this) {
+            final Sequence[] old = gating;
+            final Sequence[] next = new Sequence[old.length + 1];
+            int n = 0;
+            for (final Sequence g : old) {
+                boolean followed = false;
+                for (final Sequence d : dependencies) followed |= d == g;
+                if (!followed) next[n++] = g;
+            }
+            next[n++] = s.sequence;
+            final Sequence[] trimmed = new Sequence[n];
+            System.arraycopy(next, 0, trimmed, 0, n);
+            gating = trimmed;
+        }
+        return s;
+    }
+
+    /**
+     * A method to claim the next sequence, waiting for the last stages to
+     * free its slot if need be. Producer only.
+     *
+     * @return the claimed sequence
+     */
+    public long next() {
+        return next(1);
+    }
+
+    /**
+     * A method to claim the next {@code n} sequences at once, waiting for
+     * the last stages to free their slots if need be. Producer only.
+     *
+     * @param n the number of sequences to claim
+     * @return the highest claimed sequence; the claim runs from
+     *         {@code n - 1} below it
+     * @throws IllegalArgumentException if {@code n} is not positive, or is
+     *                                  larger than the capacity
+     */
+    public long next(final int n) {
+        if (n <= 0 || n > mask + 1) throw new IllegalArgumentException();
+        final long hi = claimed + n, wrap = hi - (mask + 1);
+        if (wrap > gatingCache) {
+            long min;
+            int counter = 0;
+            while (wrap > (min = minimum(gating, claimed)))
+                counter = waitStrategy.idle(counter);
+            gatingCache = min;
+        }
+        claimed = hi;
+        return hi;
+    }
+
+    /**
+     * A method that returns the event in the slot for the given sequence.
+     *
+     * @param sequence the sequence
+     * @return the event in its slot
+     */
+    public T get(final long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * A method to publish every claimed sequence up to and including the
+     * given one, making their events visible to the stages. Producer only.
+     *
+     * @param sequence the highest sequence to publish
+     */
+    public void publish(final long sequence) {
+        cursor.release(sequence);
+    }
+
+    /**
+     * A method to claim the next sequence, fill its event with the given
+     * translator, and publish it. Producer only.
+     *
+     * @param translator writes the new event into the slot
+     */
+    public void publishEvent(final Consumer<? super T> translator) {
+        final long s = next();
+        try {
+            translator.accept(get(s));
+        } finally {
+            publish(s);
+        }
+    }
+
+    /*
+     * A method that returns the smallest of the given sequences, or the
+     * given default if there are none.
+     */
+    private static long minimum(final Sequence[] sequences, final long none) {
+        long min = Long.MAX_VALUE;
+        for (final Sequence s : sequences) min = Math.min(min, s.get());
+        return sequences.length == 0 ? none : min;
+    }
+
+    /**
+     * Stage
+     *
+     * <p>A consumer of the ring, which runs a {@code Handler} over every
+     * published event in order, in batches, on whichever thread runs it.
+     */
+    public final class Stage implements Runnable {
+
+        private final Handler<? super T> handler;
+        private final Sequence[] dependencies;
+        private final Sequence sequence = new Sequence();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile boolean halted;
+
+        private Stage(final Handler<? super T> handler,
+                      final Sequence[] dependencies) {
+            this.handler = handler;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * A method that returns the last sequence this {@code Stage} has
+         * finished with, or -1 if there isn't one yet.
+         *
+         * @return the sequence of the {@code Stage}
+         */
+        public long sequence() {
+            return sequence.get();
+        }
+
+        /**
+         * A method to ask the {@code Stage} to stop once it has finished the
+         * batch it is on.
+         */
+        public void halt() {
+            halted = true;
+        }
+
+        /**
+         * A method that handles events as they become available, until
+         * the {@code Stage} is halted, or until its {@code Handler} throws.
+         * In that case, the sequence is left at the last event handled, so
+         * running the {@code Stage} again retries the event that failed.
+         *
+         * @throws IllegalStateException if the {@code Stage} is already
+         *                               running
+         */
+        @Override
+        public void run() {
+            if (!running.compareAndSet(false, true))
+                throw new IllegalStateException("Stage already running");
+            try {
+                long next = sequence.get() + 1;
+                try {
+                    while (!halted) {
+                        final long available = waitFor(next);
+                        if (available < next) continue;
+                        for (; next <= available; next++)
+                            handler.onEvent(get(next), next, next == available);
+                        sequence.release(available);
+                    }
+                } catch (RuntimeException | Error e) {
+                    sequence.release(next - 1);
+                    throw e;
+                }
+            } finally {
+                halted = false;
+                running.set(false);
+            }
+        }
+
+        private EventRing<T> ring() {
+            return EventRing.this;
+        }
+
+        /*
+         * A method to wait until the given sequence is available to this
+         * Stage, and return the highest sequence that is. Returns less than
+         * the given sequence if the Stage is halted first.
+         */
+        private long waitFor(final long next) {
+            long available;
+            int counter = 0;
+            while ((available = Math.min(cursor.get(),
+                    minimum(dependencies, Long.MAX_VALUE))) < next) {
+                if (halted) return next - 1;
+                counter = waitStrategy.idle(counter);
+            }
+            return available;
+        }
+
+    }
+
+}
+
+/*
+ * A padded sequence counter. The value sits between two runs of padding,
+ * laid out through a chain of superclasses as in SpscArrayQueue, so that
+ * two counters written by different threads never share a cache line.
+ */
+
+abstract class SequencePad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class SequenceValue extends SequencePad0 {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(
+                    SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private long value = -1L;
+
+    final long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    final void release(final long v) {
+        VALUE.setRelease(this, v);
+    }
+
+}
+
+final class Sequence extends SequenceValue {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p30, p31, p32, p33, p34, p35;
+}
@@ -0,0 +1,558 @@
+package util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Gap Buffer List
+ *
+ * <p>A {@code GapBufferList} is a {@code List} that stores its data in a
+ * single {@code Array} with a run of empty slots, the gap, somewhere in the
+ * middle. The elements before the gap sit at the front of the
+ * {@code Array} and the elements after it sit at the back.
+ *
+ * <p>An insertion or removal at the gap only moves the gap's edge, so it is
+ * O(1). An edit elsewhere first moves the gap to the index, which shifts
+ * only the elements in between with a single
+ * {@link System#arraycopy(Object, int, Object, int, int)}. A burst of edits
+ * around a moving cursor therefore costs in proportion to how far the
+ * cursor moves, not to the size of the {@code List}. {@code get(int)} and
+ * {@code set(int, E)} step over the gap and stay O(1).
+ *
+ * <p>When the gap closes up, the {@code Array} is doubled and the gap
+ * reopened at the same place.
+ *
+ * @param <E> the type
+ */
+public class GapBufferList<E> implements List<E> {
+
+    /*
+     * The length of the internal Array of a new List.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * An internal {@code Array} to hold the {@code List}'s data,
+     * with the gap at [gapStart, gapEnd).
+     */
+    private Object[] buffer;
+
+    /**
+     * The index of the first empty slot. This is also the index of
+     * the {@code List} element that will follow an insertion at the gap.
+     */
+    private int gapStart;
+
+    /**
+     * The index of the first element after the gap.
+     */
+    private int gapEnd;
+
+    /**
+     * The number of times the {@code List} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /**
+     * A public constructor for a {@code GapBufferList}. Its purpose is to
+     * initialize an empty {@code Array} that is all gap.
+     */
+    public GapBufferList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * A secondary constructor for a {@code GapBufferList} that starts out
+     * with room for the given number of elements.
+     *
+     * @param capacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public GapBufferList(final int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException();
+        buffer = new Object[Math.max(capacity, 1)];
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    /**
+     * A secondary constructor for a {@code GapBufferList} which takes
+     * an element array as a parameter.
+     *
+     * @param array the array to be converted.
+     */
+    public GapBufferList(final E[] array) {
+        this(array.length + INITIAL_CAPACITY);
+        addAll(array);
+    }
+
+    /*
+     * A method that translates a List index into an index of the
+     * internal Array, stepping over the gap.
+     */
+    private int physical(final int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /*
+     * A method to move the gap so that it starts at the given index.
+     * Only the elements in between are shifted, with a single copy.
+     * The slots that the gap takes over are cleared.
+     */
+    private void moveGap(final int index) {
+        if (index < gapStart) {
+            final int length = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - length, length);
+            gapEnd -= length;
+            gapStart = index;
+            Arrays.fill(
+                    buffer, gapStart, Math.min(gapStart + length, gapEnd), null
+            );
+        } else if (index > gapStart) {
+            final int length = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, length);
+            gapStart += length;
+            gapEnd += length;
+            Arrays.fill(
+                    buffer, Math.max(gapStart, gapEnd - length), gapEnd, null
+            );
+        }
+    }
+
+    /*
+     * A method to make sure the gap has room for the given number of
+     * elements. If not, the Array is at least doubled and the elements
+     * after the gap are copied to the back of the new Array.
+     */
+    private void ensureGap(final int needed) {
+        final int gap = gapEnd - gapStart;
+        if (gap >= needed) return;
+        final int size = size();
+        final int length = Math.max(buffer.length << 1, size + needed);
+        final Object[] grown = new Object[length];
+        final int tail = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, grown, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, grown, length - tail, tail);
+        buffer = grown;
+        gapEnd = length - tail;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        return (E) buffer[physical(index)];
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(final int index, final E element) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        final int i = physical(index);
+        final E removal = (E) buffer[i];
+        buffer[i] = element;
+        return removal;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The gap is moved to the index, and then widened by one to
+     * swallow the element.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        moveGap(index);
+        final E removal = (E) buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        modCount++;
+        return removal;
+    }
+
+    /**
+     * A method that removes the first occurrence of the given element.
+     * This method accepts a null parameter safely.
+     *
+     * @param element the element to be removed
+     * @return whether or not the element was removed
+     */
+    @Override
+    public boolean remove(final E element) {
+        final int index = indexOf(element);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean replace(final E candidate, final E element) {
+        final int index = indexOf(candidate);
+        if (index < 0) return false;
+        buffer[physical(index)] = element;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The gap is moved to the index, and the element is written into
+     * its first slot.
+     */
+    @Override
+    public void add(final int index, final E element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        moveGap(index);
+        ensureGap(1);
+        buffer[gapStart++] = element;
+        modCount++;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public GapBufferList<E> add(final E element) {
+        add(size(), element);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The gap is moved to the end and widened at most once for the
+     * whole batch.
+     */
+    @Override
+    public GapBufferList<E> addAll(final E[] array) {
+        addAll(size(), array);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The gap is moved to the index and widened at most once, and the
+     * elements are copied into it with a single
+     * {@link System#arraycopy(Object, int, Object, int, int)}.
+     */
+    @Override
+    public void addAll(final int index, final E[] array) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        if (array.length == 0) return;
+        moveGap(index);
+        ensureGap(array.length);
+        System.arraycopy(array, 0, buffer, gapStart, array.length);
+        gapStart += array.length;
+        modCount++;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int indexOf(final E element) {
+        for (int i = 0; i < gapStart; i++) {
+            final Object e = buffer[i];
+            if (element == null ? e == null : element.equals(e)) return i;
+        }
+        for (int i = gapEnd; i < buffer.length; i++) {
+            final Object e = buffer[i];
+            if (element == null ? e == null : element.equals(e))
+                return i - (gapEnd - gapStart);
+        }
+        return -1;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Object[] toArray() {
+        final Object[] array = new Object[size()];
+        System.arraycopy(buffer, 0, array, 0, gapStart);
+        System.arraycopy(
+                buffer, gapEnd, array, gapStart, buffer.length - gapEnd
+        );
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The elements on either side of the gap are copied out with one
+     * {@link System#arraycopy(Object, int, Object, int, int)} each.
+     */
+    @Override
+    public E[] toArray(final E[] dest) {
+        final int size = size();
+        final E[] array = dest.length >= size ? dest :
+                Arrays.copyOf(dest, size);
+        System.arraycopy(buffer, 0, array, 0, gapStart);
+        System.arraycopy(
+                buffer, gapEnd, array, gapStart, buffer.length - gapEnd
+        );
+        if (array.length > size) array[size] = null;
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The gap is moved to the front, and then widened over the drained
+     * elements after they are copied out.
+     */
+    @Override
+    public int drainTo(final E[] dest) {
+        final int count = Math.min(size(), dest.length);
+        if (count == 0) return 0;
+        moveGap(0);
+        System.arraycopy(buffer, gapEnd, dest, 0, count);
+        Arrays.fill(buffer, gapEnd, gapEnd + count, null);
+        gapEnd += count;
+        modCount++;
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} reads straight from the internal
+     * {@code Array}, stepping over the gap, and is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} is late-binding, fail-fast, and splits its
+     * index range in half, reporting {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED} and {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new Splitr(0, -1, 0);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator over both sides of the gap.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private int cursor;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size())
+                throw new NoSuchElementException();
+            return (E) buffer[physical(cursor++)];
+        }
+
+    }
+
+    /*
+     * Splitr
+     *
+     * A Spliterator over a range of List indexes. A negative fence
+     * means that the range has not yet been bound to the size of the
+     * List; binding happens on first use.
+     */
+    private final class Splitr implements Spliterator<E> {
+
+        private int index;
+        private int fence;
+        private int expectedModCount;
+
+        public Splitr(final int origin, final int fence,
+                      final int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size();
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return lo >= mid ? null :
+                    new Splitr(lo, index = mid, expectedModCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            final int hi = getFence(), i = index;
+            if (i >= hi) return false;
+            index = i + 1;
+            action.accept((E) buffer[physical(i)]);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(final Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            final int hi = getFence();
+            for (int i = index; i < hi; i++)
+                action.accept((E) buffer[physical(i)]);
+            index = hi;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED |
+                    Spliterator.SUBSIZED;
+        }
+
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        final StringBuilder out = new StringBuilder("[");
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            out.append(buffer[physical(i)]).append((i < size - 1) ? ", " : "");
+        }
+        return out.append("]").toString();
+    }
+
+    /**
+     * A method that returns a {@code String} showing the internal
+     * {@code Array}, with the gap marked out by a pair of bars.
+     *
+     * @return a {@code String} representation of the internal {@code Array}
+     */
+    @Override
+    public String toStore() {
+        final StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < buffer.length; i++) {
+            if (i == gapStart) out.append("| ");
+            if (i == gapEnd) out.append("| ");
+            out.append(buffer[i]).append((i < buffer.length - 1) ? ", " : "");
+        }
+        if (gapStart == buffer.length) out.append(" |");
+        if (gapEnd == buffer.length) out.append(" |");
+        return out.append("]").toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        final int size = size();
+        for (int i = 0; i < size; i++) {
+            final Object e = buffer[physical(i)];
+            hash = EllieCollections.HASH_CODE_CONST * hash +
+                    (e != null ? e.hashCode() : 0);
+        }
+        return hash;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(final Object other) {
+        if (this == other) return true;
+        if (other == null) return false;
+        if (!(other instanceof GapBufferList)) return false;
+        final GapBufferList<E> cast = (GapBufferList<E>) other;
+        final int size = size();
+        if (cast.size() != size) return false;
+        for (int i = 0; i < size; i++) {
+            final Object e = buffer[physical(i)];
+            final Object oe = cast.buffer[cast.physical(i)];
+            if (e == null ? oe != null : !e.equals(oe)) return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,200 @@
+package util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Hash Index
+ *
+ * <p>
+ * A secondary index over a {@code List}, mapping each distinct element to
+ * the sorted positions at which it occurs. With the index in place,
+ * membership, first-index and find-all queries are O(1) expected instead
+ * of a scan over the whole {@code List}.
+ *
+ * <p>
+ * The index remembers the {@code modCount} of the {@code List} it was built
+ * for. Appends and in-place replacements are applied to it as they happen.
+ * Any other structural change shifts positions, so the index is simply
+ * left behind and rebuilt in a single pass by the next query. A run of
+ * lookups and appends therefore never scans, however long the
+ * {@code List}.
+ *
+ * @param <E> the type
+ */
+final class HashIndex<E> {
+
+    /**
+     * The positions of each distinct element, null included.
+     */
+    private final HashMap<E, Positions> map = new HashMap<>();
+
+    /**
+     * The {@code modCount} of the {@code List} when the index was last
+     * brought up to date.
+     */
+    private int builtFor;
+
+    /**
+     * Whether or not the index is up to date as of {@code builtFor}.
+     */
+    private boolean valid;
+
+    /*
+     * Positions
+     *
+     * A growable, sorted Array of int positions.
+     */
+    private static final class Positions {
+
+        public int[] items = new int[2];
+        public int count;
+
+        public void append(final int position) {
+            if (count == items.length)
+                items = Arrays.copyOf(items, count << 1);
+            items[count++] = position;
+        }
+
+        public void insert(final int position) {
+            int i = Arrays.binarySearch(items, 0, count, position);
+            if (i >= 0) return;
+            i = -(i + 1);
+            if (count == items.length)
+                items = Arrays.copyOf(items, count << 1);
+            System.arraycopy(items, i, items, i + 1, count - i);
+            items[i] = position;
+            count++;
+        }
+
+        public void delete(final int position) {
+            final int i = Arrays.binarySearch(items, 0, count, position);
+            if (i < 0) return;
+            System.arraycopy(items, i + 1, items, i, count - i - 1);
+            count--;
+        }
+
+    }
+
+    /**
+     * A method that checks whether or not the index is up to date for a
+     * {@code List} with the given {@code modCount}.
+     *
+     * @param modCount the {@code modCount} of the {@code List}
+     * @return whether or not the index can be used as it is
+     */
+    boolean isCurrent(final int modCount) {
+        return valid && builtFor == modCount;
+    }
+
+    /**
+     * A method to rebuild the index from scratch, in a single pass over
+     * the given elements.
+     *
+     * @param source the elements of the {@code List}, in index order
+     * @param first the position of the first element
+     * @param modCount the {@code modCount} of the {@code List}
+     */
+    void rebuild(final Iterable<E> source, final int first,
+                 final int modCount) {
+        map.clear();
+        int i = first;
+        for (final E e : source) positionsOf(e).append(i++);
+        builtFor = modCount;
+        valid = true;
+    }
+
+    /**
+     * A method to mark the index as out of date, so that the next query
+     * rebuilds it. Used when elements change without a structural
+     * modification, at a position that isn't known.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * A method to record an element appended at the given position. The
+     * {@code modCount} passed in is the one after the append. If the index
+     * was not up to date just before the append, nothing is done.
+     *
+     * @param e the appended element
+     * @param position the position of the element
+     * @param modCount the {@code modCount} of the {@code List}
+     */
+    void appended(final E e, final int position, final int modCount) {
+        if (!isCurrent(modCount - 1)) return;
+        positionsOf(e).append(position);
+        builtFor = modCount;
+    }
+
+    /**
+     * A method to record a run of elements appended from the given
+     * position onwards, as a single structural modification.
+     *
+     * @param array the appended elements
+     * @param position the position of the first element
+     * @param modCount the {@code modCount} of the {@code List}
+     */
+    void appended(final E[] array, final int position, final int modCount) {
+        if (!isCurrent(modCount - 1)) return;
+        for (int i = 0; i < array.length; i++)
+            positionsOf(array[i]).append(position + i);
+        builtFor = modCount;
+    }
+
+    /**
+     * A method to record that the element at the given position has been
+     * replaced. This is not a structural modification, so the
+     * {@code modCount} is unchanged.
+     *
+     * @param previous the element that was replaced
+     * @param e the replacement
+     * @param position the position of the replacement
+     * @param modCount the {@code modCount} of the {@code List}
+     */
+    void replaced(final E previous, final E e, final int position,
+                  final int modCount) {
+        if (!isCurrent(modCount)) return;
+        final Positions old = map.get(previous);
+        if (old != null) {
+            old.delete(position);
+            if (old.count == 0) map.remove(previous);
+        }
+        positionsOf(e).insert(position);
+    }
+
+    /**
+     * A method that returns the lowest position of the given element.
+     *
+     * @param e the element to look for
+     * @return the first position of the element, or -1 if there isn't one
+     */
+    int first(final E e) {
+        final Positions p = map.get(e);
+        return p == null ? -1 : p.items[0];
+    }
+
+    /**
+     * A method that returns every position of the given element, in
+     * ascending order. The {@code Array} is a copy.
+     *
+     * @param e the element to look for
+     * @return the positions of the element
+     */
+    int[] positions(final E e) {
+        final Positions p = map.get(e);
+        return p == null ? new int[0] : Arrays.copyOf(p.items, p.count);
+    }
+
+    /*
+     * A method that returns the Positions of the given element,
+     * creating them if need be.
+     */
+    private Positions positionsOf(final E e) {
+        Positions p = map.get(e);
+        if (p == null) map.put(e, p = new Positions());
+        return p;
+    }
+
+}
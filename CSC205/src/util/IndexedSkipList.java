@@ -0,0 +1,505 @@
+package util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Indexed Skip List
+ *
+ * <p>An {@code IndexedSkipList} is a {@code List} that stores its data in
+ * an indexable skip list. Every element sits in a {@code Node} on the
+ * bottom level, and a random subset of the {@code Node}s are also linked
+ * together on each of the levels above, roughly halving in number from one
+ * level to the next.
+ *
+ * <p>Each forward reference records its width: the number of positions it
+ * skips over. Navigation to an index starts at the top level and adds up
+ * widths, dropping a level whenever the next step would overshoot. This
+ * makes {@code get(int)}, {@code set(int, E)}, {@code add(int, E)} and
+ * {@code remove(int)} all O(log n) expected, wherever the index lies.
+ * Insertion and removal only touch the references that span the index, so
+ * no elements are ever shifted.
+ *
+ * <p>Compared to an {@code ArrayList}, which is faster at the ends, an
+ * {@code IndexedSkipList} wins once a large {@code List} sees frequent
+ * insertions and removals in the middle.
+ *
+ * @param <E> the type
+ */
+public class IndexedSkipList<E> implements List<E> {
+
+    /*
+     * The maximum number of levels. Enough for any List that fits
+     * into an int.
+     */
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * The sentinel {@code Node} that starts every level. It sits at
+     * position -1 and holds no element.
+     */
+    private final Node<E> head;
+
+    /**
+     * The number of levels currently in use.
+     */
+    private int level;
+
+    /**
+     * The size of the {@code List}.
+     */
+    private int size;
+
+    /**
+     * The number of times the {@code List} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /*
+     * The source of Node heights.
+     */
+    private final Random random = new Random();
+
+    /*
+     * Scratch space for insertion and removal: the last Node before the
+     * index on each level, and the position of that Node. Only valid
+     * until the next call to trace(int).
+     */
+    private final Node<E>[] update;
+    private final int[] rank = new int[MAX_LEVEL];
+
+    /**
+     * A public constructor for an {@code IndexedSkipList}. Its purpose is
+     * to initialize the head sentinel and set the {@code size} equal to
+     * zero.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public IndexedSkipList() {
+        head = new Node<>(null, MAX_LEVEL);
+        update = (Node<E>[]) new Node[MAX_LEVEL];
+        head.width[0] = 1;
+        level = 1;
+        size = 0;
+    }
+
+    /**
+     * A secondary constructor for an {@code IndexedSkipList} which takes
+     * an element array as a parameter.
+     *
+     * @param array the array to be converted.
+     */
+    public IndexedSkipList(final E[] array) {
+        this();
+        addAll(array);
+    }
+
+    /*
+     * Node
+     *
+     * The basic unit of a Skip List. A Node has the following
+     * defining characteristics:
+     *
+     *      1) store     - The element held by the Node.
+     *
+     *      2) next      - The forward references, one per level
+     *                     that the Node is linked into.
+     *
+     *      3) width     - The number of positions skipped by each
+     *                     forward reference. The last Node on a level
+     *                     records the distance to the position just
+     *                     past the end of the List.
+     *
+     */
+    private static final class Node<E> {
+
+        public E store;
+        public final Node<E>[] next;
+        public final int[] width;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Node(final E store, final int height) {
+            this.store = store;
+            this.next = (Node<E>[]) new Node[height];
+            this.width = new int[height];
+        }
+
+    }
+
+    /*
+     * A method that picks the height of a new Node. Each extra level is
+     * taken with a probability of one half.
+     */
+    private int randomLevel() {
+        final int bits = random.nextInt() | (1 << (MAX_LEVEL - 1));
+        return Integer.numberOfTrailingZeros(bits) + 1;
+    }
+
+    /*
+     * A method to navigate to the Node at the given index, adding up
+     * widths from the top level down.
+     */
+    private Node<E> locate(final int index) {
+        Node<E> n = head;
+        int pos = -1;
+        for (int l = level - 1; l >= 0; l--) {
+            while (n.next[l] != null && pos + n.width[l] <= index) {
+                pos += n.width[l];
+                n = n.next[l];
+            }
+        }
+        return n;
+    }
+
+    /*
+     * A method to find, on every level in use, the last Node that
+     * comes before the given index. The Nodes and their positions
+     * are left in update and rank.
+     */
+    private void trace(final int index) {
+        Node<E> n = head;
+        int pos = -1;
+        for (int l = level - 1; l >= 0; l--) {
+            while (n.next[l] != null && pos + n.width[l] < index) {
+                pos += n.width[l];
+                n = n.next[l];
+            }
+            update[l] = n;
+            rank[l] = pos;
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public E get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        return locate(index).store;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public E set(final int index, final E element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        final Node<E> n = locate(index);
+        final E removal = n.store;
+        n.store = element;
+        return removal;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Node} is unlinked from every level it spans, and the
+     * references that jumped over it are narrowed by one.
+     */
+    @Override
+    public E remove(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        trace(index);
+        final Node<E> removal = update[0].next[0];
+        for (int l = 0; l < level; l++) {
+            final Node<E> u = update[l];
+            if (u.next[l] == removal) {
+                u.width[l] += removal.width[l] - 1;
+                u.next[l] = removal.next[l];
+            } else u.width[l]--;
+        }
+        while (level > 1 && head.next[level - 1] == null) level--;
+        size--;
+        modCount++;
+        return removal.store;
+    }
+
+    /**
+     * A method that removes the first occurrence of the given element.
+     * This method accepts a null parameter safely.
+     *
+     * @param element the element to be removed
+     * @return whether or not the element was removed
+     */
+    @Override
+    public boolean remove(final E element) {
+        final int index = indexOf(element);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean replace(final E candidate, final E element) {
+        for (Node<E> n = head.next[0]; n != null; n = n.next[0]) {
+            final E e = n.store;
+            if (candidate == null ? e == null : candidate.equals(e)) {
+                n.store = element;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The new {@code Node} is given a random height and spliced into
+     * that many levels. The references above it that jump over the index
+     * are widened by one.
+     */
+    @Override
+    public void add(final int index, final E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        trace(index);
+        final int height = randomLevel();
+        for (; level < height; level++) {
+            update[level] = head;
+            rank[level] = -1;
+            head.next[level] = null;
+            head.width[level] = size + 1;
+        }
+        final Node<E> addition = new Node<>(element, height);
+        for (int l = 0; l < height; l++) {
+            final Node<E> u = update[l];
+            addition.next[l] = u.next[l];
+            addition.width[l] = rank[l] + u.width[l] + 1 - index;
+            u.next[l] = addition;
+            u.width[l] = index - rank[l];
+        }
+        for (int l = height; l < level; l++) update[l].width[l]++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public IndexedSkipList<E> add(final E element) {
+        add(size, element);
+        return this;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int indexOf(final E element) {
+        int i = 0;
+        for (Node<E> n = head.next[0]; n != null; n = n.next[0], i++) {
+            final E e = n.store;
+            if (element == null ? e == null : element.equals(e)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Object[] toArray() {
+        final Object[] array = new Object[size];
+        int i = 0;
+        for (Node<E> n = head.next[0]; n != null; n = n.next[0])
+            array[i++] = n.store;
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method walks the bottom level once, copying each element
+     * into the {@code Array}.
+     */
+    @Override
+    public E[] toArray(final E[] dest) {
+        final E[] array = dest.length >= size ? dest :
+                Arrays.copyOf(dest, size);
+        int i = 0;
+        for (Node<E> n = head.next[0]; n != null; n = n.next[0])
+            array[i++] = n.store;
+        if (array.length > size) array[size] = null;
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The drained {@code Node}s are copied out along the bottom level,
+     * and then the head is pointed past them on every level at once, so
+     * the cost is O(k + log n) for k elements.
+     */
+    @Override
+    public int drainTo(final E[] dest) {
+        final int count = Math.min(size, dest.length);
+        if (count == 0) return 0;
+        Node<E> n = head.next[0];
+        for (int i = 0; i < count; i++, n = n.next[0]) dest[i] = n.store;
+        trace(count);
+        for (int l = 0; l < level; l++) {
+            final Node<E> u = update[l];
+            head.next[l] = u.next[l];
+            head.width[l] = rank[l] + u.width[l] - count + 1;
+        }
+        while (level > 1 && head.next[level - 1] == null) level--;
+        size -= count;
+        modCount++;
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} walks the bottom level, so a full traversal
+     * is O(n). It is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator that walks the bottom level in order.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private Node<E> next = head.next[0];
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next == null)
+                throw new NoSuchElementException();
+            final E e = next.store;
+            next = next.next[0];
+            return e;
+        }
+
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        final StringBuilder out = new StringBuilder("[");
+        for (Node<E> n = head.next[0]; n != null; n = n.next[0]) {
+            out.append(n.store).append((n.next[0] != null) ? ", " : "");
+        }
+        return out.append("]").toString();
+    }
+
+    /**
+     * A method that returns a {@code String} showing every level of the
+     * skip list, from the top down.
+     *
+     * @return a {@code String} representation of the levels
+     */
+    @Override
+    public String toStore() {
+        final StringBuilder out = new StringBuilder("[");
+        for (int l = level - 1; l >= 0; l--) {
+            out.append("[");
+            for (Node<E> n = head.next[l]; n != null; n = n.next[l]) {
+                out.append(n.store).append((n.next[l] != null) ? ", " : "");
+            }
+            out.append("]").append((l > 0) ? ", " : "");
+        }
+        return out.append("]").toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (Node<E> n = head.next[0]; n != null; n = n.next[0]) {
+            final E e = n.store;
+            hash = EllieCollections.HASH_CODE_CONST * hash +
+                    (e != null ? e.hashCode() : 0);
+        }
+        return hash;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(final Object other) {
+        if (this == other) return true;
+        if (other == null) return false;
+        if (!(other instanceof IndexedSkipList)) return false;
+        final IndexedSkipList<E> cast = (IndexedSkipList<E>) other;
+        if (cast.size != this.size) return false;
+        Node<E> o = cast.head.next[0];
+        for (Node<E> n = head.next[0]; n != null; n = n.next[0], o = o.next[0]) {
+            final E e = n.store;
+            if (e == null ? o.store != null : !e.equals(o.store)) return false;
+        }
+        return true;
+    }
+
+}
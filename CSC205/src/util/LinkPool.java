@@ -0,0 +1,102 @@
+package util;
+
+/**
+ * Link Pool
+ *
+ * <p>
+ * A bounded free-list of spare {@code Link}s, owned by a single linked
+ * {@code Collection}. Instead of leaving a deleted {@code Link} for garbage
+ * collection, the {@code Collection} hands it back to its pool, and the next
+ * insertion takes it back out rather than allocating. A {@code Collection}
+ * that holds a steady number of elements therefore stops allocating
+ * altogether.
+ *
+ * <p>
+ * The pool never holds more than its capacity. {@code Link}s recycled
+ * beyond that are simply dropped. A pool with a capacity of zero is
+ * disabled and leaves every {@code Link} alone. The pooled {@code Link}s
+ * can be handed back to the garbage collector at any time with
+ * {@link #clear()}.
+ *
+ * @param <E> the type
+ */
+final class LinkPool<E> {
+
+    /**
+     * The maximum number of spare {@code Link}s to hold.
+     */
+    private final int capacity;
+
+    /**
+     * The first spare {@code Link}. The spares are chained through
+     * their {@code next} references.
+     */
+    private Link<E> free;
+
+    /**
+     * The number of spare {@code Link}s currently held.
+     */
+    private int count;
+
+    /**
+     * A constructor for a {@code LinkPool} that holds up to the given
+     * number of spare {@code Link}s.
+     *
+     * @param capacity the maximum number of spare {@code Link}s
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    LinkPool(final int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException();
+        this.capacity = capacity;
+    }
+
+    /**
+     * A method that returns an empty {@code Link}, reusing a spare one
+     * if there is any.
+     *
+     * @return a {@code Link} whose references are all null
+     */
+    Link<E> obtain() {
+        final Link<E> l = free;
+        if (l == null) return new Link<>();
+        free = l.next;
+        l.next = null;
+        count--;
+        return l;
+    }
+
+    /**
+     * A method to hand a {@code Link} that is no longer part of the
+     * {@code Collection} back to the pool. The {@code Link}'s references
+     * are cleared if, and only if, the pool keeps it.
+     *
+     * @param l the {@code Link} to be recycled
+     */
+    void recycle(final Link<E> l) {
+        if (count >= capacity) return;
+        l.store = null;
+        l.prev = null;
+        l.next = free;
+        free = l;
+        count++;
+    }
+
+    /**
+     * A method to drop every spare {@code Link}, leaving them for
+     * garbage collection.
+     */
+    void clear() {
+        free = null;
+        count = 0;
+    }
+
+    /**
+     * A method that returns the number of spare {@code Link}s held.
+     *
+     * @return the number of spare {@code Link}s
+     */
+    int size() {
+        return count;
+    }
+
+}
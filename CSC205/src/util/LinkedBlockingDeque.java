@@ -0,0 +1,567 @@
+package util;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Linked Blocking Deque
+ *
+ * <p>An optionally bounded {@code Deque} for handing elements between
+ * threads, which waits for room when it is full and for an element when it
+ * is empty. The elements are kept in an internal {@link LinkedDeque}.
+ *
+ * <p>All of the state is guarded by a single {@link ReentrantLock}, and
+ * threads wait on its {@link Condition}s rather than on a monitor. Unlike
+ * {@code synchronized}, this never pins a virtual thread to its carrier
+ * while it waits for the lock or for a signal, so any number of virtual
+ * threads may block on the {@code Deque} at once.
+ *
+ * <p>Every method may be called from any thread. Null elements are not
+ * permitted, as null marks an empty {@code Deque}.
+ *
+ * @param <E> the type
+ * @see java.util.concurrent.LinkedBlockingDeque
+ */
+public class LinkedBlockingDeque<E> implements Deque<E> {
+
+    /**
+     * The internal storage of the {@code Deque}. Guarded by the
+     * {@code lock}.
+     */
+    private final LinkedDeque<E> internal = new LinkedDeque<>();
+
+    /**
+     * The most elements that the {@code Deque} will hold at once.
+     */
+    private final int capacity;
+
+    /**
+     * The lock that guards the {@code Deque}.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when the {@code Deque} may no longer be empty.
+     */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Signalled when the {@code Deque} may no longer be full.
+     */
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * A public {@code constructor} for an unbounded {@code Deque}.
+     */
+    public LinkedBlockingDeque() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * A secondary {@code constructor} for a {@code Deque} that holds at most
+     * the given number of elements.
+     *
+     * @param capacity the capacity of the {@code Deque}
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public LinkedBlockingDeque(final int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException();
+        this.capacity = capacity;
+    }
+
+    /**
+     * A method that returns the most elements the {@code Deque} will hold
+     * at once.
+     *
+     * @return the capacity of the {@code Deque}
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * A method that returns the number of elements that could be inserted
+     * without waiting, at this moment.
+     *
+     * @return the remaining capacity of the {@code Deque}
+     */
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - internal.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * @param input {@code Element}
+     * @throws IllegalStateException if the {@code Deque} is full
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void insert(final E input) {
+        if (!offer(input)) throw new IllegalStateException("Deque full");
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * @param input {@code Element}
+     * @throws IllegalStateException if the {@code Deque} is full
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void insertOnFront(final E input) {
+        if (!offerFirst(input)) throw new IllegalStateException("Deque full");
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Deque} if
+     * there is room for it, without waiting.
+     *
+     * @param input {@code Element}
+     * @return whether or not the element was inserted
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offer(final E input) {
+        if (input == null) throw new NullPointerException();
+        lock.lock();
+        try {
+            if (internal.size() >= capacity) return false;
+            internal.insert(input);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A method to insert an element into the front of the {@code Deque} if
+     * there is room for it, without waiting.
+     *
+     * @param input {@code Element}
+     * @return whether or not the element was inserted
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offerFirst(final E input) {
+        if (input == null) throw new NullPointerException();
+        lock.lock();
+        try {
+            if (internal.size() >= capacity) return false;
+            internal.insertOnFront(input);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Deque},
+     * waiting for as long as the given timeout for room if need be.
+     *
+     * @param input {@code Element}
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return whether or not the element was inserted
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offer(final E input, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        return offer(input, false, Math.max(0L, unit.toNanos(timeout)));
+    }
+
+    /**
+     * A method to insert an element into the front of the {@code Deque},
+     * waiting for as long as the given timeout for room if need be.
+     *
+     * @param input {@code Element}
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return whether or not the element was inserted
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offerFirst(final E input, final long timeout,
+                              final TimeUnit unit) throws InterruptedException {
+        return offer(input, true, Math.max(0L, unit.toNanos(timeout)));
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Deque},
+     * waiting for room if need be.
+     *
+     * @param input {@code Element}
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public void put(final E input) throws InterruptedException {
+        offer(input, false, -1L);
+    }
+
+    /**
+     * A method to insert an element into the front of the {@code Deque},
+     * waiting for room if need be.
+     *
+     * @param input {@code Element}
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if the element is null
+     */
+    public void putFirst(final E input) throws InterruptedException {
+        offer(input, true, -1L);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Deque} is empty, this method returns null.
+     *
+     * @return the {@code Element} at the front of the {@code Deque}
+     */
+    @Override
+    public E delete() {
+        lock.lock();
+        try {
+            return internal.isEmpty() ? null : deleted(internal.delete());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the {@code Deque} is empty, this method returns null.
+     *
+     * @return the {@code Element} at the back of the {@code Deque}
+     */
+    @Override
+    public E deleteFromBack() {
+        lock.lock();
+        try {
+            return internal.isEmpty() ? null : deleted(internal.deleteFromBack());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Deque}
+     * and return it, waiting for as long as the given timeout for one to
+     * arrive if need be.
+     *
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return the {@code Element} at the front of the {@code Deque}, or
+     *         null if the timeout ran out first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E poll(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        return poll(false, Math.max(0L, unit.toNanos(timeout)));
+    }
+
+    /**
+     * A method to delete the element at the back of the {@code Deque}
+     * and return it, waiting for as long as the given timeout for one to
+     * arrive if need be.
+     *
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return the {@code Element} at the back of the {@code Deque}, or
+     *         null if the timeout ran out first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E pollLast(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        return poll(true, Math.max(0L, unit.toNanos(timeout)));
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Deque}
+     * and return it, waiting for one to arrive if need be.
+     *
+     * @return the {@code Element} at the front of the {@code Deque}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        return poll(false, -1L);
+    }
+
+    /**
+     * A method to delete the element at the back of the {@code Deque}
+     * and return it, waiting for one to arrive if need be.
+     *
+     * @return the {@code Element} at the back of the {@code Deque}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E takeLast() throws InterruptedException {
+        return poll(true, -1L);
+    }
+
+    /**
+     * A method to move up to {@code max} elements from the front of the
+     * {@code Deque} into the back of the given {@code Queue}, in order,
+     * without waiting. The lock is taken once for the whole batch.
+     *
+     * @param dest the {@code Queue} to move the elements into
+     * @param max the largest number of elements to move
+     * @return the number of elements moved
+     * @throws IllegalArgumentException if the destination is this
+     *                                  {@code Deque}
+     */
+    public int drainTo(final Queue<? super E> dest, final int max) {
+        if (dest == null) throw new NullPointerException();
+        if (dest == this) throw new IllegalArgumentException();
+        return drain(dest::insert, max);
+    }
+
+    /**
+     * A method to move up to {@code max} elements from the front of the
+     * {@code Deque} onto the end of the given {@code List}, in order,
+     * without waiting. The lock is taken once for the whole batch.
+     *
+     * @param dest the {@code List} to move the elements onto
+     * @param max the largest number of elements to move
+     * @return the number of elements moved
+     */
+    public int drainTo(final List<? super E> dest, final int max) {
+        if (dest == null) throw new NullPointerException();
+        return drain(dest::add, max);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>If the {@code Deque} is empty, this method returns null.
+     */
+    @Override
+    public E peek() {
+        lock.lock();
+        try {
+            return internal.isEmpty() ? null : internal.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A method that is similar to {@code peek()}. However, this method
+     * returns the element at the back of the {@code Deque}.
+     *
+     * @return the element at the back of the {@code Deque}, or null if it
+     *         is empty
+     */
+    @Override
+    public E peekFromBack() {
+        lock.lock();
+        try {
+            return internal.isEmpty() ? null : internal.peekFromBack();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return internal.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return internal.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toStore() {
+        lock.lock();
+        try {
+            return internal.toStore();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Deque} change under other threads,
+     * the hash code is based on identity, as in
+     * {@link java.util.concurrent.LinkedBlockingDeque}.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Deque} change under other threads,
+     * equality is based on identity, as in
+     * {@link java.util.concurrent.LinkedBlockingDeque}.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * A method that returns the elements of the {@code Deque} from front
+     * to back, in a new {@code Array}, copied under the lock.
+     *
+     * @return an {@code Array} of the elements
+     */
+    public Object[] toArray() {
+        lock.lock();
+        try {
+            final Object[] a = new Object[internal.size()];
+            int i = 0;
+            for (final E e : internal) a[i++] = e;
+            return a;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} walks a snapshot of the {@code Deque}, taken
+     * when it is created, from front to back. It never throws
+     * {@link java.util.ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} covers a snapshot of the {@code Deque},
+     * and reports {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED},
+     * {@link Spliterator#ORDERED} and {@link Spliterator#NONNULL}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Spliterator<E> spliterator() {
+        return (Spliterator<E>) Spliterators.spliterator(toArray(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /*
+     * A method to insert at either end, waiting for room for up to the
+     * given number of nanoseconds, or for as long as it takes if that
+     * is negative.
+     */
+    private boolean offer(final E input, final boolean first, long nanos)
+            throws InterruptedException {
+        if (input == null) throw new NullPointerException();
+        lock.lockInterruptibly();
+        try {
+            while (internal.size() >= capacity) {
+                if (nanos < 0L) notFull.await();
+                else if (nanos == 0L) return false;
+                else nanos = Math.max(0L, notFull.awaitNanos(nanos));
+            }
+            if (first) internal.insertOnFront(input);
+            else internal.insert(input);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * A method to delete from either end, waiting for an element for up
+     * to the given number of nanoseconds, or for as long as it takes if
+     * that is negative.
+     */
+    private E poll(final boolean last, long nanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (internal.isEmpty()) {
+                if (nanos < 0L) notEmpty.await();
+                else if (nanos == 0L) return null;
+                else nanos = Math.max(0L, notEmpty.awaitNanos(nanos));
+            }
+            return deleted(last ? internal.deleteFromBack() : internal.delete());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * A method to hand up to max elements from the front to the given
+     * Consumer, holding the lock once for the whole batch. An element
+     * only leaves the Deque once the Consumer has accepted it, so if the
+     * Consumer throws, that element stays at the front.
+     */
+    private int drain(final Consumer<? super E> c, final int max) {
+        lock.lock();
+        try {
+            int i = 0;
+            try {
+                while (i < max && !internal.isEmpty()) {
+                    c.accept(internal.peek());
+                    internal.delete();
+                    i++;
+                }
+            } finally {
+                if (i > 0) notFull.signalAll();
+            }
+            return i;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * A method to wake a waiting producer after a deletion, and hand
+     * back the deleted element. Called while holding the lock.
+     */
+    private E deleted(final E removal) {
+        notFull.signal();
+        return removal;
+    }
+
+}
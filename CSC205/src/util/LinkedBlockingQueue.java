@@ -0,0 +1,272 @@
+package util;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linked Blocking Queue
+ *
+ * <p>An optionally bounded {@code Queue} for handing elements between
+ * threads, which waits for room when it is full and for an element when it
+ * is empty. This is a {@code Queue} implementation that makes use of an
+ * internal {@code LinkedBlockingDeque}, so it never pins a virtual thread
+ * to its carrier while it waits.
+ *
+ * <p>Every method may be called from any thread. Null elements are not
+ * permitted, as null marks an empty {@code Queue}.
+ *
+ * @param <E> the type
+ * @see LinkedBlockingDeque
+ * @see java.util.concurrent.LinkedBlockingQueue
+ */
+public class LinkedBlockingQueue<E> implements Queue<E> {
+
+    /**
+     * The internal storage of the {@code Queue}.
+     */
+    private final LinkedBlockingDeque<E> internal;
+
+    /**
+     * A public {@code constructor} for an unbounded {@code Queue}.
+     */
+    public LinkedBlockingQueue() {
+        internal = new LinkedBlockingDeque<>();
+    }
+
+    /**
+     * A secondary {@code constructor} for a {@code Queue} that holds at most
+     * the given number of elements.
+     *
+     * @param capacity the capacity of the {@code Queue}
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public LinkedBlockingQueue(final int capacity) {
+        internal = new LinkedBlockingDeque<>(capacity);
+    }
+
+    /**
+     * A method that returns the most elements the {@code Queue} will hold
+     * at once.
+     *
+     * @return the capacity of the {@code Queue}
+     * @see LinkedBlockingDeque#capacity()
+     */
+    public int capacity() {
+        return internal.capacity();
+    }
+
+    /**
+     * A method that returns the number of elements that could be inserted
+     * without waiting, at this moment.
+     *
+     * @return the remaining capacity of the {@code Queue}
+     * @see LinkedBlockingDeque#remainingCapacity()
+     */
+    public int remainingCapacity() {
+        return internal.remainingCapacity();
+    }
+
+    /**
+     * @inheritDoc
+     * @throws IllegalStateException if the {@code Queue} is full
+     * @see LinkedBlockingDeque#offer(E)
+     */
+    @Override
+    public void insert(final E input) {
+        if (!internal.offer(input)) throw new IllegalStateException("Queue full");
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue} if
+     * there is room for it, without waiting.
+     *
+     * @param input {@code Element}
+     * @return whether or not the element was inserted
+     * @see LinkedBlockingDeque#offer(E)
+     */
+    public boolean offer(final E input) {
+        return internal.offer(input);
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue},
+     * waiting for as long as the given timeout for room if need be.
+     *
+     * @param input {@code Element}
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return whether or not the element was inserted
+     * @throws InterruptedException if interrupted while waiting
+     * @see LinkedBlockingDeque#offer(E, long, TimeUnit)
+     */
+    public boolean offer(final E input, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        return internal.offer(input, timeout, unit);
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue},
+     * waiting for room if need be.
+     *
+     * @param input {@code Element}
+     * @throws InterruptedException if interrupted while waiting
+     * @see LinkedBlockingDeque#put(E)
+     */
+    public void put(final E input) throws InterruptedException {
+        internal.put(input);
+    }
+
+    /**
+     * @inheritDoc
+     * @return the {@code Element} at the front of the {@code Queue}, or
+     *         null if it is empty
+     * @see LinkedBlockingDeque#delete()
+     */
+    @Override
+    public E delete() {
+        return internal.delete();
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it, waiting for as long as the given timeout for one to
+     * arrive if need be.
+     *
+     * @param timeout how long to wait, in units of {@code unit}
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return the {@code Element} at the front of the {@code Queue}, or
+     *         null if the timeout ran out first
+     * @throws InterruptedException if interrupted while waiting
+     * @see LinkedBlockingDeque#poll(long, TimeUnit)
+     */
+    public E poll(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        return internal.poll(timeout, unit);
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it, waiting for one to arrive if need be.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}
+     * @throws InterruptedException if interrupted while waiting
+     * @see LinkedBlockingDeque#take()
+     */
+    public E take() throws InterruptedException {
+        return internal.take();
+    }
+
+    /**
+     * A method to move up to {@code max} elements from the front of the
+     * {@code Queue} into the back of the given {@code Queue}, in order,
+     * without waiting.
+     *
+     * @param dest the {@code Queue} to move the elements into
+     * @param max the largest number of elements to move
+     * @return the number of elements moved
+     * @throws IllegalArgumentException if the destination is this
+     *                                  {@code Queue}
+     * @see LinkedBlockingDeque#drainTo(Queue, int)
+     */
+    public int drainTo(final Queue<? super E> dest, final int max) {
+        if (dest == this) throw new IllegalArgumentException();
+        return internal.drainTo(dest, max);
+    }
+
+    /**
+     * A method to move up to {@code max} elements from the front of the
+     * {@code Queue} onto the end of the given {@code List}, in order,
+     * without waiting.
+     *
+     * @param dest the {@code List} to move the elements onto
+     * @param max the largest number of elements to move
+     * @return the number of elements moved
+     * @see LinkedBlockingDeque#drainTo(List, int)
+     */
+    public int drainTo(final List<? super E> dest, final int max) {
+        return internal.drainTo(dest, max);
+    }
+
+    /**
+     * @inheritDoc
+     * @see LinkedBlockingDeque#peek()
+     */
+    @Override
+    public E peek() {
+        return internal.peek();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int size() {
+        return internal.size();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return internal.isEmpty();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        return internal.toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toStore() {
+        return internal.toStore();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * the hash code is based on identity.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * equality is based on identity.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * @inheritDoc
+     * @see LinkedBlockingDeque#iterator()
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return internal.iterator();
+    }
+
+    /**
+     * @inheritDoc
+     * @see LinkedBlockingDeque#spliterator()
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return internal.spliterator();
+    }
+
+}
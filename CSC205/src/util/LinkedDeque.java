@@ -1,5 +1,11 @@
 package util;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 /**
  * Linked Deque
  *
@@ -35,12 +41,40 @@ public class LinkedDeque<E> implements Deque<E> {
      */
     private int size;
 
+    /**
+     * The number of times the {@code Deque} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /**
+     * The pool of spare {@code Link}s used by insertions and refilled by
+     * deletions.
+     */
+    private final LinkPool<E> pool;
+
     /**
      * A public constructor for a {@code LinkedDeque} to initialize the head and
      * tail, linking them to each other. This constructor also sets the {@code size}
      * variable to zero.
      */
     public LinkedDeque() {
+        this(0);
+    }
+
+    /**
+     * A public constructor for a {@code LinkedDeque} that keeps up to the
+     * given number of deleted {@code Link}s in a pool and reuses them for
+     * later insertions. A {@code Deque} that holds a steady number of
+     * elements will then stop allocating. A capacity of zero disables
+     * pooling.
+     *
+     * @param poolCapacity the maximum number of spare {@code Link}s to keep
+     * @throws IllegalArgumentException if the capacity is negative
+     * @see #releasePool()
+     */
+    public LinkedDeque(final int poolCapacity) {
+        pool = new LinkPool<>(poolCapacity);
         head = new Link<>();
         tail = new Link<>();
         head.next = tail;
@@ -53,12 +87,13 @@ public class LinkedDeque<E> implements Deque<E> {
      */
     @Override
     public void insertOnFront(final E element) {
-        Link<E> replacement = new Link<>();
+        Link<E> replacement = pool.obtain();
         head.store = element;
         head.prev = replacement;
         replacement.next = head;
         head = replacement;
         size++;
+        modCount++;
     }
 
     /**
@@ -67,12 +102,13 @@ public class LinkedDeque<E> implements Deque<E> {
      */
     @Override
     public void insert(final E element) {
-        Link<E> replacement = new Link<>();
+        Link<E> replacement = pool.obtain();
         tail.store = element;
         tail.next = replacement;
         replacement.prev = tail;
         tail = replacement;
         size++;
+        modCount++;
     }
 
     /**
@@ -84,9 +120,12 @@ public class LinkedDeque<E> implements Deque<E> {
     public E delete() {
         if (isEmpty()) return null;
         size--;
+        modCount++;
         final E removal = head.next.store;
+        final Link<E> spare = head;
         head = head.next;
         head.prev = null;
+        pool.recycle(spare);
         return removal;
     }
 
@@ -101,9 +140,12 @@ public class LinkedDeque<E> implements Deque<E> {
     public E deleteFromBack() {
         if (isEmpty()) return null;
         size--;
+        modCount++;
         final E removal = tail.prev.store;
+        final Link<E> spare = tail;
         tail = tail.prev;
         tail.next = null;
+        pool.recycle(spare);
         return removal;
     }
 
@@ -125,6 +167,15 @@ public class LinkedDeque<E> implements Deque<E> {
         return tail.prev.store;
     }
 
+    /**
+     * A method to drop every spare {@code Link} held in the pool, leaving
+     * them for garbage collection. The pool will fill up again as elements
+     * are deleted.
+     */
+    public void releasePool() {
+        pool.clear();
+    }
+
     /**
      * @inheritDoc
      */
@@ -205,4 +256,56 @@ public class LinkedDeque<E> implements Deque<E> {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} follows the {@code Link}s from the front
+     * of the {@code Deque} to the back. It is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator that walks the Links from head to tail.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private Link<E> next = head.next;
+        private int remaining = size;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            final E e = next.store;
+            next = next.next;
+            remaining--;
+            return e;
+        }
+
+    }
+
 }
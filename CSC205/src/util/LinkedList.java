@@ -1,5 +1,12 @@
 package util;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 /**
  * Linked List
  *
@@ -32,11 +39,55 @@ public class LinkedList<E> implements List<E> {
      */
     private int size;
 
+    /**
+     * The number of times the {@code List} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /**
+     * The {@code Link} most recently navigated to by index, or null if
+     * there isn't one. Navigation can start here instead of at the
+     * {@code root} or {@code leaf}.
+     */
+    private Link<E> finger;
+
+    /**
+     * The index of the {@code finger}.
+     */
+    private int fingerIndex;
+
+    /**
+     * The pool of spare {@code Link}s used by insertions and refilled by
+     * removals.
+     */
+    private final LinkPool<E> pool;
+
+    /**
+     * An optional index from each element to the indexes it occupies,
+     * or null if indexing is disabled.
+     */
+    private HashIndex<E> hashIndex;
+
     /**
      * A public constructor for a {@code LinkedList}. Its purpose is to initialize
      * the root and leaf {@code Link}s and set the {@code size} equal to zero.
      */
     public LinkedList() {
+        this(0);
+    }
+
+    /**
+     * A public constructor for a {@code LinkedList} that keeps up to the
+     * given number of removed {@code Link}s in a pool and reuses them for
+     * later insertions. A capacity of zero disables pooling.
+     *
+     * @param poolCapacity the maximum number of spare {@code Link}s to keep
+     * @throws IllegalArgumentException if the capacity is negative
+     * @see #releasePool()
+     */
+    public LinkedList(final int poolCapacity) {
+        pool = new LinkPool<>(poolCapacity);
         root = new Link<>();
         leaf = new Link<>();
         root.next = leaf;
@@ -57,31 +108,31 @@ public class LinkedList<E> implements List<E> {
 
     /*
      * A method to navigate to the link at the given index.
-     * If the index is less than half of the size, this method will
-     * start at the root. If the index is greater than half of the size
-     * this method will start at the leaf.
+     * This method starts from whichever of the root, the leaf, or
+     * the finger is closest to the index, and leaves the finger on
+     * the link that it arrives at. Sequential access by index is
+     * therefore O(1) per step rather than O(n).
      */
     private Link<E> navigateTo(final int index){
         Link<E> n;
-        if(index < (size >>> 1)) {
+        int i;
+        final int fromLeaf = size - 1 - index;
+        if(index <= fromLeaf) {
             n = root.next;
-            for (
-                int i = 0;
-                n.next != null
-                && i < index;
-                n = n.next,
-                i++
-            );
+            i = 0;
         } else {
             n = leaf.prev;
-            for (
-                int i = size;
-                n.prev != null
-                && i > index + 1;
-                n = n.prev,
-                i--
-            );
+            i = size - 1;
+        }
+        if(finger != null
+           && Math.abs(index - fingerIndex) < Math.min(index, fromLeaf)) {
+            n = finger;
+            i = fingerIndex;
         }
+        for (; i < index; n = n.next, i++);
+        for (; i > index; n = n.prev, i--);
+        finger = n;
+        fingerIndex = index;
         return n;
     }
 
@@ -125,6 +176,7 @@ public class LinkedList<E> implements List<E> {
         }
         final Link<E> nav = navigateTo(index);
         size--;
+        modCount++;
         return unlink(nav);
     }
 
@@ -139,10 +191,18 @@ public class LinkedList<E> implements List<E> {
      */
     @Override
     public boolean remove(final E element) {
+        if (hashIndex != null) {
+            final int index = indexOf(element);
+            if (index < 0) return false;
+            remove(index);
+            return true;
+        }
+        finger = null;
         if(element == null) {
             for (Link<E> n = root.next; n.next != null; n = n.next) {
                 if (n.store == null) {
                     size--;
+                    modCount++;
                     unlink(n);
                     return true;
                 }
@@ -151,6 +211,7 @@ public class LinkedList<E> implements List<E> {
             for (Link<E> n = root.next; n.next != null; n = n.next) {
                 if (n.store != null && n.store.equals(element)) {
                     size--;
+                    modCount++;
                     unlink(n);
                     return true;
                 }
@@ -169,20 +230,25 @@ public class LinkedList<E> implements List<E> {
      * @return whether or not the element has been removed
      */
     public boolean removeAll(final E element) {
+        finger = null;
         boolean flag = false;
         if(element == null) {
-            for(Link<E> n = root.next; n.next != null; n = n.next){
+            for(Link<E> n = root.next, next; n != leaf; n = next){
+                next = n.next;
                 if(n.store == null) {
                     unlink(n);
                     size--;
+                    modCount++;
                     flag = true;
                 }
             }
         } else {
-            for(Link<E> n = root.next; n.next != null; n = n.next){
+            for(Link<E> n = root.next, next; n != leaf; n = next){
+                next = n.next;
                 if(n.store != null && n.store.equals(element)) {
                     unlink(n);
                     size--;
+                    modCount++;
                     flag = true;
                 }
             }
@@ -190,13 +256,59 @@ public class LinkedList<E> implements List<E> {
         return flag;
     }
 
+    /**
+     * A method to remove every element from the first index (inclusive)
+     * up to the second index (exclusive). This method navigates to the
+     * first index once, from whichever end or the finger is closest, and
+     * walks the range a single time. Each removed {@code Link} has its
+     * references cleared and is handed back to the pool, and the
+     * {@code Link}s on either side of the range are joined together.
+     *
+     * @param from the first index to be removed
+     * @param to the index after the last index to be removed
+     * @throws IndexOutOfBoundsException forces the client to enter a valid range.
+     */
+    public void removeRange(final int from, final int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(
+                    "Arguments must be a valid range"
+            );
+        }
+        if (from == to) return;
+        Link<E> n = navigateTo(from);
+        final Link<E> before = n.prev;
+        for (int i = from; i < to; i++) {
+            final Link<E> next = n.next;
+            n.store = null;
+            n.prev = null;
+            n.next = null;
+            pool.recycle(n);
+            n = next;
+        }
+        before.next = n;
+        n.prev = before;
+        size -= to - from;
+        modCount++;
+        if (n != leaf) finger = n;
+        else finger = null;
+    }
+
     /*
-     * A method to unlink the given Link from the List.
+     * A method to unlink the given Link from the List and hand it
+     * back to the pool. The Link must not be used afterwards.
      */
     private E unlink(Link<E> nav){
+        if(nav == finger) {
+            if(nav.next != leaf) finger = nav.next;
+            else if(nav.prev != root) {
+                finger = nav.prev;
+                fingerIndex--;
+            } else finger = null;
+        }
         final E removal = nav.store;
         nav.next.prev = nav.prev;
         nav.prev.next = nav.next;
+        pool.recycle(nav);
         return removal;
     }
 
@@ -218,7 +330,10 @@ public class LinkedList<E> implements List<E> {
                     "The given index is out of bounds."
             );
         }
-        return swap(navigateTo(index), element);
+        final E removal = swap(navigateTo(index), element);
+        if (hashIndex != null)
+            hashIndex.replaced(removal, element, index, modCount);
+        return removal;
     }
 
     /*
@@ -250,8 +365,11 @@ public class LinkedList<E> implements List<E> {
             );
         }
         if (index < size) {
-            insertLink(new Link<>(), navigateTo(index), element);
+            final Link<E> insertion = pool.obtain();
+            insertLink(insertion, navigateTo(index), element);
+            finger = insertion;
             size++;
+            modCount++;
         } else add(element);
     }
 
@@ -276,20 +394,110 @@ public class LinkedList<E> implements List<E> {
      * @param element the element to be appended to the {@code List}
      */
     public LinkedList<E> add(final E element) {
-        Link<E> addition = new Link<>();
+        Link<E> addition = pool.obtain();
         leaf.store = element;
         leaf.next = addition;
         addition.prev = leaf;
         leaf = addition;
         size++;
+        modCount++;
+        if (hashIndex != null)
+            hashIndex.appended(element, size - 1, modCount);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method boxes every element in a {@code Link}, chaining them
+     * together before touching the {@code List}. The finished chain is then
+     * spliced in front of {@code leaf} in one step.
+     *
+     * @param array the elements to be appended
+     * @return the instance
+     */
+    @Override
+    public LinkedList<E> addAll(final E[] array) {
+        splice(leaf, array);
         return this;
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public LinkedList<E> addAll(final List<E> list) {
+        splice(leaf, (E[]) list.toArray());
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method navigates to the given index once, then splices a
+     * pre-built chain of {@code Link}s in front of the occupant.
+     *
+     * @param index the index for the elements to be inserted
+     * @param array the elements to be inserted
+     */
+    @Override
+    public void addAll(final int index, final E[] array) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        splice(index < size? navigateTo(index): leaf, array);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(final int index, final List<E> list) {
+        addAll(index, (E[]) list.toArray());
+    }
+
+    /*
+     * A method to build a chain of links from the given elements and
+     * insert the whole chain in front of the candidate link.
+     */
+    private void splice(final Link<E> candidate, final E[] array){
+        if(array.length == 0) return;
+        finger = null;
+        final Link<E> first = pool.obtain();
+        first.store = array[0];
+        Link<E> last = first;
+        for(int i = 1; i < array.length; i++){
+            final Link<E> n = pool.obtain();
+            n.store = array[i];
+            n.prev = last;
+            last.next = n;
+            last = n;
+        }
+        first.prev = candidate.prev;
+        candidate.prev.next = first;
+        last.next = candidate;
+        candidate.prev = last;
+        size += array.length;
+        modCount++;
+        if (hashIndex != null && candidate == leaf)
+            hashIndex.appended(array, size - array.length, modCount);
+    }
+
     /**
      * @inheritDoc
      */
     @Override
     public boolean replace(E candidate, E element){
+        if(hashIndex != null) {
+            final int index = indexOf(candidate);
+            if(index < 0) return false;
+            set(index, element);
+            return true;
+        }
         if(candidate == null){
             for(Link<E> n = root.next; n.next != null; n = n.next){
                 if(n.store == null) {
@@ -319,6 +527,11 @@ public class LinkedList<E> implements List<E> {
      * @return whether or not the element was replaced successfully
      */
     public boolean replaceAll(E candidate, E element){
+        if(hashIndex != null) {
+            final int[] at = index().positions(candidate);
+            for(final int i : at) set(i, element);
+            return at.length > 0;
+        }
         boolean flag = false;
         if(candidate == null){
             for(Link<E> n = root.next; n.next != null; n = n.next){
@@ -351,6 +564,7 @@ public class LinkedList<E> implements List<E> {
      */
     @Override
     public int indexOf(final E element) {
+        if(hashIndex != null) return index().first(element);
         if(size == 0) return -1;
         int i = 0;
         if(element == null) {
@@ -367,6 +581,56 @@ public class LinkedList<E> implements List<E> {
         return -1;
     }
 
+    /**
+     * A method that checks whether or not the {@code List} contains the
+     * given element. This is O(1) expected when the hash index is enabled.
+     *
+     * @param element the element to look for
+     * @return whether or not the element is in the {@code List}
+     */
+    public boolean contains(final E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * A method to turn on a hash index from each element to the indexes
+     * it occupies. While it is on, {@code indexOf}, {@code contains},
+     * {@code remove(E)}, {@code replace} and {@code replaceAll} find their
+     * elements in O(1) expected rather than by walking the {@code Link}s.
+     * Appends and {@code set} keep the index up to date as they go. Any
+     * other structural change leaves it to be rebuilt, in one pass, by the
+     * next lookup.
+     */
+    public void enableHashIndex() {
+        if (hashIndex == null) hashIndex = new HashIndex<>();
+    }
+
+    /**
+     * A method to turn off the hash index and release its memory.
+     */
+    public void disableHashIndex() {
+        hashIndex = null;
+    }
+
+    /*
+     * A method that returns the hash index, rebuilding it first if the
+     * List has changed shape since it was last brought up to date.
+     */
+    private HashIndex<E> index() {
+        if (!hashIndex.isCurrent(modCount))
+            hashIndex.rebuild(this, 0, modCount);
+        return hashIndex;
+    }
+
+    /**
+     * A method to drop every spare {@code Link} held in the pool, leaving
+     * them for garbage collection. The pool will fill up again as elements
+     * are removed.
+     */
+    public void releasePool() {
+        pool.clear();
+    }
+
     /**
      * @inheritDoc
      */
@@ -459,10 +723,208 @@ public class LinkedList<E> implements List<E> {
              navigator = navigator.next) {
             array[i++] = navigator.store;
         }
-        size = 0;
-        root.next = leaf;
-        leaf.prev = root;
         return array;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method walks the {@code List} once, copying each element into
+     * the {@code Array}.
+     */
+    @Override
+    public E[] toArray(final E[] dest) {
+        final E[] array = dest.length >= size ? dest :
+                Arrays.copyOf(dest, size);
+        int i = 0;
+        for (Link<E> n = root.next; n != leaf; n = n.next)
+            array[i++] = n.store;
+        if (array.length > size) array[size] = null;
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method walks the drained {@code Link}s once, handing each
+     * back to the pool, and then joins the root to the first remaining
+     * {@code Link}.
+     */
+    @Override
+    public int drainTo(final E[] dest) {
+        final int count = Math.min(size, dest.length);
+        Link<E> n = root.next;
+        for (int i = 0; i < count; i++) {
+            final Link<E> next = n.next;
+            dest[i] = n.store;
+            pool.recycle(n);
+            n = next;
+        }
+        root.next = n;
+        n.prev = root;
+        size -= count;
+        modCount++;
+        if (fingerIndex < count) finger = null;
+        else fingerIndex -= count;
+        return count;
+    }
+
+    /**
+     * A method that returns a {@code ListCursor} positioned at the start
+     * of the {@code List}.
+     *
+     * @return a {@code ListCursor} before the first element
+     */
+    public ListCursor<E> cursor() {
+        return new Cursor(root.next, 0);
+    }
+
+    /**
+     * A method that returns a {@code ListCursor} positioned just before
+     * the given index, so that its first call to {@code next()} returns
+     * the element at that index. The {@code ListCursor} can then set,
+     * remove and insert elements at its position in O(1).
+     *
+     * @param index the index of the first element to be returned
+     * @return a {@code ListCursor} before the given index
+     * @throws IndexOutOfBoundsException forces the client to enter a valid index.
+     */
+    public ListCursor<E> cursor(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        return new Cursor(index < size? navigateTo(index): leaf, index);
+    }
+
+    /*
+     * Cursor
+     *
+     * A ListCursor that holds on to the Link it is about to return
+     * and the Link it returned last.
+     */
+    private final class Cursor implements ListCursor<E> {
+
+        private Link<E> next;
+        private Link<E> lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        public Cursor(final Link<E> next, final int nextIndex) {
+            this.next = next;
+            this.nextIndex = nextIndex;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (nextIndex >= size)
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.store;
+        }
+
+        @Override
+        public void set(final E element) {
+            if (lastReturned == null) throw new IllegalStateException();
+            checkForComodification();
+            final E removal = swap(lastReturned, element);
+            if (hashIndex != null) {
+                hashIndex.replaced(
+                        removal, element, nextIndex - 1, modCount
+                );
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) throw new IllegalStateException();
+            checkForComodification();
+            finger = null;
+            unlink(lastReturned);
+            lastReturned = null;
+            nextIndex--;
+            size--;
+            expectedModCount = ++modCount;
+        }
+
+        @Override
+        public void add(final E element) {
+            checkForComodification();
+            finger = null;
+            insertLink(pool.obtain(), next, element);
+            lastReturned = null;
+            nextIndex++;
+            size++;
+            expectedModCount = ++modCount;
+        }
+
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} follows the {@code Link}s from {@code root}
+     * to {@code leaf}, so a full traversal is O(n). It is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#ORDERED}, and splits by peeling off batches of
+     * elements into {@code Array}s.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator that walks the Links in order.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private Link<E> next = root.next;
+        private int remaining = size;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            final E e = next.store;
+            next = next.next;
+            remaining--;
+            return e;
+        }
+
+    }
+
 }
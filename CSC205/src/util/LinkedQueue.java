@@ -1,5 +1,8 @@
 package util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+
 /**
  * Linked Queue
  *
@@ -26,6 +29,27 @@ public class LinkedQueue<E> implements Queue<E> {
         internal = new LinkedDeque<>();
     }
 
+    /**
+     * A public constructor for a {@code LinkedQueue} whose internal
+     * {@code Deque} keeps up to the given number of deleted {@code Link}s
+     * for reuse. A capacity of zero disables pooling.
+     *
+     * @param poolCapacity the maximum number of spare {@code Link}s to keep
+     * @see LinkedDeque#LinkedDeque(int)
+     */
+    public LinkedQueue(final int poolCapacity) {
+        internal = new LinkedDeque<>(poolCapacity);
+    }
+
+    /**
+     * A method to drop every spare {@code Link} held in the pool.
+     *
+     * @see LinkedDeque#releasePool()
+     */
+    public void releasePool() {
+        internal.releasePool();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -115,4 +139,20 @@ public class LinkedQueue<E> implements Queue<E> {
         return internal.equals(cast.internal);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return internal.iterator();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return internal.spliterator();
+    }
+
 }
@@ -1,5 +1,8 @@
 package util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+
 /**
  * Linked Stack
  *
@@ -26,6 +29,27 @@ public class LinkedStack<E> implements Stack<E> {
         internal = new LinkedDeque<>();
     }
 
+    /**
+     * A public constructor for a {@code LinkedStack} whose internal
+     * {@code Deque} keeps up to the given number of deleted {@code Link}s
+     * for reuse. A capacity of zero disables pooling.
+     *
+     * @param poolCapacity the maximum number of spare {@code Link}s to keep
+     * @see LinkedDeque#LinkedDeque(int)
+     */
+    public LinkedStack(final int poolCapacity) {
+        internal = new LinkedDeque<>(poolCapacity);
+    }
+
+    /**
+     * A method to drop every spare {@code Link} held in the pool.
+     *
+     * @see LinkedDeque#releasePool()
+     */
+    public void releasePool() {
+        internal.releasePool();
+    }
+
     /**
      * @inheritDoc
      * @param element the element being pushed
@@ -109,4 +133,20 @@ public class LinkedStack<E> implements Stack<E> {
         return internal.equals(cast.internal);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return internal.iterator();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return internal.spliterator();
+    }
+
 }
@@ -1,13 +1,23 @@
 package util;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A {@code List} interface
  *
+ * <p>
+ * A {@code List} iterates over its elements in index order. Its
+ * {@code Iterator}s are fail-fast: a structural modification made
+ * other than through the {@code Iterator} causes the next access to
+ * throw a {@link java.util.ConcurrentModificationException}.
+ *
  * @param <E> the type
  * @author Ellie Moore
  * @version 1.0, 03-15-2020
  */
-public interface List<E> extends EllieCollection {
+public interface List<E> extends EllieCollection, Iterable<E> {
 
     /**
      * A method to remove and return the {@code List} element at the
@@ -87,13 +97,120 @@ public interface List<E> extends EllieCollection {
     int indexOf(E e);
 
     /**
-     * A method to convert the {@code List} to an {@code Array}. This method
-     * completely empties the {@code List}s data. This method strictly returns
-     * an {@code Object Array}. Casts that are unchecked will result in a
-     * {@link ClassCastException}.
+     * A method to copy the {@code List} into a new {@code Array}, in index
+     * order. The {@code List} itself is left untouched. This method strictly
+     * returns an {@code Object Array}. Casts that are unchecked will result
+     * in a {@link ClassCastException}.
      *
      * @return an object {@code Array} containing the elements of the {@code List}
      */
     Object[] toArray();
 
+    /**
+     * A method to copy the {@code List} into the given {@code Array}, in
+     * index order. The {@code List} itself is left untouched. If the
+     * {@code Array} is large enough, it is filled and returned, and no
+     * allocation takes place; the slot just past the last element, if
+     * there is one, is set to null. Otherwise, a new {@code Array} of the
+     * same runtime type and exactly the right length is returned.
+     *
+     * @param dest the {@code Array} to be filled, if it is large enough
+     * @return an {@code Array} containing the elements of the {@code List}
+     */
+    default E[] toArray(final E[] dest) {
+        final int size = size();
+        final E[] out = dest.length >= size ? dest : Arrays.copyOf(dest, size);
+        int i = 0;
+        for (final E e : this) out[i++] = e;
+        if (out.length > size) out[size] = null;
+        return out;
+    }
+
+    /**
+     * A method to move elements from the front of the {@code List} into the
+     * given {@code Array}, in index order. As many elements are moved as
+     * will fit, and they are removed from the {@code List}. The rest of the
+     * {@code Array} is left alone.
+     *
+     * @param dest the {@code Array} to be filled
+     * @return the number of elements moved
+     */
+    default int drainTo(final E[] dest) {
+        final int count = Math.min(size(), dest.length);
+        for (int i = 0; i < count; i++) dest[i] = remove(0);
+        return count;
+    }
+
+    /**
+     * A method to append every element of the given {@code Array} to the
+     * {@code List}, in order. Implementations should size their storage
+     * once for the whole batch rather than once per element.
+     *
+     * @param array the elements to be appended
+     * @return the instance
+     */
+    default List<E> addAll(final E[] array) {
+        for (final E e : array) add(e);
+        return this;
+    }
+
+    /**
+     * A method to append every element of the given {@code List} to this
+     * {@code List}, in order. The given {@code List} is left untouched.
+     *
+     * @param list the {@code List} whose elements are to be appended
+     * @return the instance
+     */
+    @SuppressWarnings("unchecked")
+    default List<E> addAll(final List<E> list) {
+        return addAll((E[]) list.toArray());
+    }
+
+    /**
+     * A method to insert every element of the given {@code Array} at the
+     * given index, in order. The previous occupant of the index and all
+     * proceeding elements are shifted down by the length of the {@code Array}.
+     *
+     * @param i the desired index
+     * @param array the elements to be inserted
+     * @throws IndexOutOfBoundsException forces the client to enter a valid index.
+     */
+    default void addAll(final int i, final E[] array) {
+        for (int k = 0; k < array.length; k++) add(i + k, array[k]);
+    }
+
+    /**
+     * A method to insert every element of the given {@code List} at the
+     * given index, in order. The given {@code List} is left untouched.
+     *
+     * @param i the desired index
+     * @param list the {@code List} whose elements are to be inserted
+     * @throws IndexOutOfBoundsException forces the client to enter a valid index.
+     */
+    @SuppressWarnings("unchecked")
+    default void addAll(final int i, final List<E> list) {
+        addAll(i, (E[]) list.toArray());
+    }
+
+    /**
+     * A method that returns a sequential {@code Stream} over the
+     * elements of the {@code List}, backed by its {@code Spliterator}.
+     *
+     * @return a sequential {@code Stream}
+     */
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * A method that returns a parallel {@code Stream} over the
+     * elements of the {@code List}. The work is divided up by splitting
+     * its {@code Spliterator}.
+     *
+     * @return a parallel {@code Stream}
+     */
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
 }
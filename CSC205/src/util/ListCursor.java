@@ -0,0 +1,54 @@
+package util;
+
+import java.util.Iterator;
+
+/**
+ * A {@code ListCursor} interface
+ *
+ * <p>
+ * A {@code ListCursor} is an {@code Iterator} that remembers its place in
+ * a linked {@code List}, so that it can replace, remove or insert elements
+ * at that place without navigating to it again. On a linked {@code List}
+ * each of these operations is O(1).
+ *
+ * <p>
+ * The cursor always sits between two elements: the one most recently
+ * returned by {@link #next()} and the one that will be returned next. A
+ * structural modification of the {@code List} made other than through
+ * the cursor causes the next access to throw a
+ * {@link java.util.ConcurrentModificationException}.
+ *
+ * @param <E> the type
+ */
+public interface ListCursor<E> extends Iterator<E> {
+
+    /**
+     * A method to replace the element most recently returned by
+     * {@link #next()} with the given element.
+     *
+     * @param e the replacement
+     * @throws IllegalStateException if {@code next()} has not been called,
+     * or if {@code remove()} or {@code add(E)} has been called since
+     */
+    void set(E e);
+
+    /**
+     * A method to remove the element most recently returned by
+     * {@link #next()} from the {@code List}.
+     *
+     * @throws IllegalStateException if {@code next()} has not been called,
+     * or if {@code remove()} or {@code add(E)} has been called since
+     */
+    @Override
+    void remove();
+
+    /**
+     * A method to insert the given element at the cursor, in between the
+     * element most recently returned and the element that will be returned
+     * next. A subsequent call to {@link #next()} is unaffected.
+     *
+     * @param e the element to be inserted
+     */
+    void add(E e);
+
+}
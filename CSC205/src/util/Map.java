@@ -1,6 +1,19 @@
 package util;
 
-public interface Map<K,V> extends EllieCollection {
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@code Map} interface
+ *
+ * <p>
+ * A {@code Map} iterates over its values. The order of iteration is
+ * defined by the implementation.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface Map<K,V> extends EllieCollection, Iterable<V> {
 
     /**
      * A method to put a value into the {@code Map} with
@@ -27,4 +40,25 @@ public interface Map<K,V> extends EllieCollection {
      */
     V remove(K k);
 
+    /**
+     * A method that returns a sequential {@code Stream} over the
+     * values of the {@code Map}, backed by its {@code Spliterator}.
+     *
+     * @return a sequential {@code Stream}
+     */
+    default Stream<V> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * A method that returns a parallel {@code Stream} over the
+     * values of the {@code Map}. The work is divided up by splitting
+     * its {@code Spliterator}.
+     *
+     * @return a parallel {@code Stream}
+     */
+    default Stream<V> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
 }
@@ -0,0 +1,438 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Multi-Producer Single-Consumer Linked Queue
+ *
+ * <p>An unbounded, lock-free {@code Queue} for handing elements from any
+ * number of producer threads to exactly one consumer thread, after
+ * Dmitry Vyukov's intrusive MPSC node queue.
+ *
+ * <p>The elements are kept in a chain of {@code Node}s that always starts
+ * with a sentinel. A producer links in a new {@code Node} in two steps:
+ * it swaps it into the tail with a single atomic {@code getAndSet}, and
+ * then points the previous tail at it with a release store. Producers
+ * never retry, so insertion is wait-free however many of them there are.
+ * The consumer follows the chain from the sentinel with acquire loads.
+ * The first {@code Node} after the sentinel becomes the new sentinel once
+ * its element has been taken, so deletion never touches the tail, and is
+ * wait-free as well.
+ *
+ * <p>Between the swap and the link, a {@code Node} is in the {@code Queue}
+ * but cannot yet be reached. For that short window the consumer sees the
+ * elements before it, but not it or anything after it, and
+ * {@link #poll()} returns null even though {@link #isEmpty()} does not
+ * report an empty {@code Queue}. The consumer simply tries again.
+ *
+ * <p>{@link #insert(Object)} and {@link #offer(Object)} may be called by
+ * any thread. {@link #delete()}, {@link #poll()}, {@link #peek()} and
+ * {@link #drain(Consumer, int)} may only be called by the consumer. Every
+ * other method may be called from any thread, but only gives an
+ * approximate view while the {@code Queue} is in use. Null elements are
+ * not permitted, as null marks an empty {@code Queue}.
+ *
+ * @param <E> the type
+ */
+public final class MpscLinkedQueue<E> extends MpscPad2<E> implements Queue<E> {
+
+    /**
+     * A public {@code constructor} to instantiate an empty
+     * {@code Queue}, holding only its sentinel.
+     */
+    public MpscLinkedQueue() {
+        final MpscNode<E> sentinel = new MpscNode<>(null);
+        releaseHead(sentinel);
+        releaseTail(sentinel);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Any thread. The {@code Queue} is unbounded, so this never fails.
+     *
+     * @param input {@code Element}
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void insert(final E input) {
+        if (input == null) throw new NullPointerException();
+        final MpscNode<E> n = new MpscNode<>(input);
+        swapTail(n).releaseNext(n);
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue}.
+     * Any thread. As the {@code Queue} is unbounded, there is always room.
+     *
+     * @param input {@code Element}
+     * @return true
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offer(final E input) {
+        insert(input);
+        return true;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Consumer only. If no element can be reached, this method
+     * returns null.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}
+     */
+    @Override
+    public E delete() {
+        return poll();
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it. Consumer only.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}, or
+     *         null if no element can be reached
+     */
+    public E poll() {
+        final MpscNode<E> next = head.acquireNext();
+        if (next == null) return null;
+        final E removal = next.store;
+        next.store = null;
+        releaseHead(next);
+        return removal;
+    }
+
+    /**
+     * A method to delete up to {@code limit} elements from the front of the
+     * {@code Queue}, handing each to the given {@code Consumer} in order.
+     * Consumer only.
+     *
+     * @param c the {@code Consumer} of elements
+     * @param limit the largest number of elements to delete
+     * @return the number of elements deleted, which is less than
+     *         {@code limit} if no more elements could be reached
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public int drain(final Consumer<? super E> c, final int limit) {
+        if (c == null) throw new NullPointerException();
+        if (limit < 0) throw new IllegalArgumentException();
+        int i = 0;
+        for (MpscNode<E> next; i < limit &&
+                (next = head.acquireNext()) != null; i++) {
+            final E e = next.store;
+            next.store = null;
+            releaseHead(next);
+            c.accept(e);
+        }
+        return i;
+    }
+
+    /**
+     * A method to delete every element that can currently be reached,
+     * handing each to the given {@code Consumer} in order. Consumer only.
+     *
+     * @param c the {@code Consumer} of elements
+     * @return the number of elements deleted
+     * @see #drain(Consumer, int)
+     */
+    public int drain(final Consumer<? super E> c) {
+        return drain(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Consumer only. If no element can be reached, this method
+     * returns null.
+     */
+    @Override
+    public E peek() {
+        final MpscNode<E> next = head.acquireNext();
+        return next == null ? null : next.store;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The {@code Queue} keeps no count, so this walks the chain, and
+     * only counts the elements that can be reached. While the
+     * {@code Queue} is in use, the result is only a snapshot.
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (final Iterator<E> it = iterator(); it.hasNext(); it.next())
+            if (++count == Integer.MAX_VALUE) break;
+        return count;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The {@code Queue} is empty when its sentinel is also its tail. An
+     * element that has been swapped into the tail, but not yet linked,
+     * counts.
+     */
+    @Override
+    public boolean isEmpty() {
+        return acquireHead() == acquireTail();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+        for (final Iterator<E> it = iterator(); it.hasNext(); ) {
+            out.append(it.next()).append(it.hasNext() ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>The chain is shown from the sentinel onwards, one {@code Node}
+     * per entry.
+     */
+    @Override
+    public String toStore() {
+        StringBuilder out = new StringBuilder("[");
+        for (MpscNode<E> n = acquireHead(); n != null; ) {
+            out.append(n.store);
+            n = n.acquireNext();
+            out.append(n != null ? " -> " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * the hash code is based on identity, as in
+     * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * equality is based on identity, as in
+     * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} is weakly consistent. It never throws
+     * {@link java.util.ConcurrentModificationException}, and it follows the
+     * chain from the sentinel it starts at for as long as {@code Node}s can
+     * be reached. Elements that the consumer deletes in the meantime are
+     * skipped. It may be used from any thread.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} is backed by the weakly consistent
+     * {@code Iterator}, and reports {@link Spliterator#ORDERED},
+     * {@link Spliterator#NONNULL} and {@link Spliterator#CONCURRENT}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL |
+                        Spliterator.CONCURRENT);
+    }
+
+    /*
+     * Itr
+     *
+     * A weakly consistent Iterator that follows the chain of Nodes. Each
+     * element is fetched ahead of time, so that hasNext() agrees with the
+     * following call to next().
+     */
+    private final class Itr implements Iterator<E> {
+
+        private MpscNode<E> node = acquireHead();
+        private E next;
+
+        public Itr() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while ((node = node.acquireNext()) != null) {
+                final E e = node.store;
+                if (e != null) {
+                    next = e;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            final E e = next;
+            if (e == null) throw new NoSuchElementException();
+            advance();
+            return e;
+        }
+
+    }
+
+}
+
+/*
+ * MpscNode
+ *
+ * A Node in the chain of an MpscLinkedQueue. Its next pointer is written
+ * once, by the producer that linked the following Node, with a release
+ * store.
+ */
+final class MpscNode<E> {
+
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(
+                    MpscNode.class, "next", MpscNode.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    E store;
+    private MpscNode<E> next;
+
+    MpscNode(final E store) {
+        this.store = store;
+    }
+
+    @SuppressWarnings("unchecked")
+    MpscNode<E> acquireNext() {
+        return (MpscNode<E>) NEXT.getAcquire(this);
+    }
+
+    void releaseNext(final MpscNode<E> n) {
+        NEXT.setRelease(this, n);
+    }
+
+}
+
+/*
+ * The padding and pointers of an MpscLinkedQueue are laid out through a
+ * chain of superclasses, as in SpscArrayQueue, so that the tail, which
+ * every producer swaps, never shares a cache line with the head, which
+ * the consumer writes on every deletion.
+ */
+
+abstract class MpscPad0<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class MpscTailField<E> extends MpscPad0<E> {
+
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(
+                    MpscTailField.class, "tail", MpscNode.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * The last Node in the chain. Swapped by every producer.
+     */
+    private MpscNode<E> tail;
+
+    @SuppressWarnings("unchecked")
+    final MpscNode<E> acquireTail() {
+        return (MpscNode<E>) TAIL.getAcquire(this);
+    }
+
+    final void releaseTail(final MpscNode<E> n) {
+        TAIL.setRelease(this, n);
+    }
+
+    @SuppressWarnings("unchecked")
+    final MpscNode<E> swapTail(final MpscNode<E> n) {
+        return (MpscNode<E>) TAIL.getAndSet(this, n);
+    }
+
+}
+
+abstract class MpscPad1<E> extends MpscTailField<E> {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p30, p31, p32, p33, p34, p35;
+}
+
+abstract class MpscHeadField<E> extends MpscPad1<E> {
+
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(
+                    MpscHeadField.class, "head", MpscNode.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * The sentinel at the start of the chain. Written only by the
+     * consumer, with release stores, so that other threads can follow
+     * the chain from it.
+     */
+    MpscNode<E> head;
+
+    @SuppressWarnings("unchecked")
+    final MpscNode<E> acquireHead() {
+        return (MpscNode<E>) HEAD.getAcquire(this);
+    }
+
+    final void releaseHead(final MpscNode<E> n) {
+        HEAD.setRelease(this, n);
+    }
+
+}
+
+abstract class MpscPad2<E> extends MpscHeadField<E> {
+    long p40, p41, p42, p43, p44, p45, p46, p47;
+    long p48, p49, p50, p51, p52, p53, p54, p55;
+}
@@ -1,6 +1,11 @@
 package util;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * Priority Queue
@@ -25,6 +30,18 @@ public class PriorityQueue<E> implements Queue<E> {
      */
     private int size;
 
+    /**
+     * The number of times the {@code PriorityQueue} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /**
+     * The hash code of the live elements: the sum of their own hash
+     * codes, kept up to date by every insertion and deletion.
+     */
+    private int hash;
+
     /**
      * The internal storage of the {@code PriorityQueue}.
      */
@@ -64,8 +81,10 @@ public class PriorityQueue<E> implements Queue<E> {
         if (priority < 0) throw new IllegalArgumentException();
         grow();
         heap[size] = new Element<>(priority, e);
+        hash += e != null ? e.hashCode() : 0;
         siftUp(size);
         size++;
+        modCount++;
     }
 
     /**
@@ -81,9 +100,11 @@ public class PriorityQueue<E> implements Queue<E> {
     public E delete() {
         if (size == 0) return null;
         final Element<E> removal = heap[0];
+        hash -= removal.store != null ? removal.store.hashCode() : 0;
         heap[0] = heap[size - 1];
         heap[size - 1] = null;
         size--;
+        modCount++;
         if (size > 2) siftDown(0);
         else if (size > 1 && heap[0].priority < heap[1].priority)
             swap(0, 1);
@@ -179,7 +200,7 @@ public class PriorityQueue<E> implements Queue<E> {
     public boolean equals(Object other) {
         if (this == other) return true;
         if (other == null) return false;
-        if (!(other instanceof ArrayList)) return false;
+        if (!(other instanceof PriorityQueue)) return false;
         PriorityQueue<E> cast = (PriorityQueue<E>) other;
         if (cast.size != this.size) return false;
         for (int i = 0; i < size; i++)
@@ -189,14 +210,16 @@ public class PriorityQueue<E> implements Queue<E> {
     }
 
     /**
-     * @inheritDoc
+     * {@inheritDoc}
+     *
+     * <p>
+     * The heap's layout depends on the order of insertion, so the hash
+     * code is the sum of the elements' own hash codes, which does not.
+     * It is maintained on every insertion and deletion, so this method
+     * is O(1).
      */
     @Override
     public int hashCode() {
-        int hash = 1;
-        for (Element e : heap)
-            hash = EllieCollections.HASH_CODE_CONST * hash +
-                    (e != null ? e.hashCode() : 0);
         return hash;
     }
 
@@ -223,4 +246,55 @@ public class PriorityQueue<E> implements Queue<E> {
         return out.append("]").toString();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Unlike {@link #delete()}, the {@code Iterator} visits the elements
+     * in heap order rather than priority order. It is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code Spliterator} reports {@link Spliterator#SIZED}. As
+     * the heap is only partially ordered, it does not report
+     * {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, 0);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator over the live portion of the heap.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private int cursor;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size)
+                throw new NoSuchElementException();
+            return heap[cursor++].store;
+        }
+
+    }
+
 }
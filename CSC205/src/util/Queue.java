@@ -1,13 +1,20 @@
 package util;
 
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A {@code Queue} interface
  *
+ * <p>
+ * A {@code Queue} iterates over its elements in the order in which
+ * they would be deleted, starting at the front.
+ *
  * @param <E> the type
  * @author Ellie Moore
  * @version 1.0, 03-15-2020
  */
-public interface Queue<E> extends EllieCollection {
+public interface Queue<E> extends EllieCollection, Iterable<E> {
 
     /**
      * A method to insert an element into the {@code Queue} from the back.
@@ -32,4 +39,25 @@ public interface Queue<E> extends EllieCollection {
      */
     E peek();
 
+    /**
+     * A method that returns a sequential {@code Stream} over the
+     * elements of the {@code Queue}, backed by its {@code Spliterator}.
+     *
+     * @return a sequential {@code Stream}
+     */
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * A method that returns a parallel {@code Stream} over the
+     * elements of the {@code Queue}. The work is divided up by splitting
+     * its {@code Spliterator}.
+     *
+     * @return a parallel {@code Stream}
+     */
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
 }
@@ -1,5 +1,12 @@
 package util;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 /**
  * Singly Linked List
  *
@@ -7,6 +14,11 @@ package util;
  * This is a {@code LinkedList} implemented with one-way linking!
  *
  * <p>
+ * The {@code Link}s run forwards, from index 1 at the {@code head} to
+ * index {@code size} at the {@code tail}. Appending, and reading either
+ * end, are therefore O(1).
+ *
+ * <p>
  * A {@code LinkedList} is an efficient way to store large, complex
  * Objects, as a {@code LinkedList} doesn't need to copy its elements
  * during growth. However, a {@code LinkedList} is likely to be less
@@ -20,18 +32,48 @@ package util;
 public class SinglyLinkedList<E> implements List<E> {
 
     /**
-     * The first {@code Link} in the list.
+     * The first {@code Link} in the list, at index 1.
      */
     private Link<E> head;
 
+    /**
+     * The last {@code Link} in the list, at index {@code size}.
+     */
+    private Link<E> tail;
+
     /**
      * The size of the {@code List}.
      */
     private int size;
 
+    /**
+     * The number of times the {@code List} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /**
+     * The {@code Link} most recently navigated to by index, or null if
+     * there isn't one. Navigation to any higher index can start here
+     * instead of at the {@code head}.
+     */
+    private Link<E> finger;
+
+    /**
+     * The index of the {@code finger}.
+     */
+    private int fingerIndex;
+
+    /**
+     * An optional index from each element to the indexes it occupies,
+     * or null if indexing is disabled.
+     */
+    private HashIndex<E> hashIndex;
+
     /**
      * Constructs an empty LinkedList.
-     * ({@code root} is null and {@code size} is zero by default)
+     * ({@code head} and {@code tail} are null and {@code size} is zero
+     * by default)
      */
     public SinglyLinkedList(){
     }
@@ -45,54 +87,24 @@ public class SinglyLinkedList<E> implements List<E> {
         for(final E e: array) add(e);
     }
 
-    /*
-     * Navigator
-     *
-     * A struct to store the current and previous Link during
-     * traversal of the LinkedList.
-     */
-    private static final class Navigator<E> {
-
-        public Link<E> prev;
-        public Link<E> curr;
-
-        public Navigator(Link<E> prev, Link<E> curr){
-            this.prev = prev;
-            this.curr = curr;
-        }
-
-    }
-
-    /*
-     * A method to navigate to the specified index and return
-     * two Links-- One AT the index, and one in front of
-     * (or behind from the client's perspective).
-     */
-    private Navigator<E> navigateTo(final int index){
-        final Navigator<E> n = new Navigator<>(head, head.next);
-        for(
-                int i = 1;
-                n.curr != null
-                && i < (size - index);
-                n.prev = n.curr,
-                n.curr = n.curr.next,
-                i++
-        );
-        return n;
-    }
-
     /*
      * A method to navigate to the given index and return the Link
-     * AT that index.
+     * AT that index. The tail is returned straight away. Otherwise,
+     * this method starts from the finger whenever the finger sits at
+     * or below the index, and from the head otherwise. It leaves the
+     * finger on the Link that it arrives at. No objects are allocated.
      */
     private Link<E> navigateToLinkAt(final int index){
+        if (index == size) return tail;
         Link<E> c = head;
-        for (
-                int i = 1;
-                c != null
-                && i < (size - index + 1);
-                c = c.next, i++
-        );
+        int i = 1;
+        if (finger != null && fingerIndex <= index) {
+            c = finger;
+            i = fingerIndex;
+        }
+        for (; i < index; c = c.next, i++);
+        finger = c;
+        fingerIndex = index;
         return c;
     }
 
@@ -100,12 +112,12 @@ public class SinglyLinkedList<E> implements List<E> {
      * {@inheritDoc}
      *
      * <p>
-     * This version of {@code List#add(E)} iterates backwards over
-     * each {@code Link} until arriving at the desired index.
-     * Here, it wraps the given element in a {@code Link} and
-     * adds it to the {@code List}. If the desired index is size + 1
-     * (The front of the list), then the insertion will replace the
-     * head {@code Link}.
+     * This version of {@code List#add(E)} iterates forwards over
+     * each {@code Link} until arriving at the one before the desired
+     * index. Here, it wraps the given element in a {@code Link} and
+     * links it in behind. If the desired index is 1 or size + 1
+     * (either end of the list), then the insertion will replace the
+     * head or the tail {@code Link} without any iteration.
      *
      * @throws IndexOutOfBoundsException
      */
@@ -119,14 +131,22 @@ public class SinglyLinkedList<E> implements List<E> {
         final Link<E> insertion = new Link<>();
         insertion.store = element;
         if(index == size + 1) {
+            if (tail == null) head = insertion;
+            else tail.next = insertion;
+            tail = insertion;
+        } else if(index == 1) {
             insertion.next = head;
             head = insertion;
+            fingerIndex++;
         } else {
-            final Navigator<E> nav = navigateTo(index - 1);
-            nav.prev.next = insertion;
-            insertion.next = nav.curr;
+            final Link<E> prev = navigateToLinkAt(index - 1);
+            insertion.next = prev.next;
+            prev.next = insertion;
         }
         size++;
+        modCount++;
+        if (hashIndex != null && index == size)
+            hashIndex.appended(element, index, modCount);
     }
 
     /**
@@ -138,6 +158,83 @@ public class SinglyLinkedList<E> implements List<E> {
         return this;
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public SinglyLinkedList<E> addAll(final E[] array) {
+        addAll(size + 1, array);
+        return this;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public SinglyLinkedList<E> addAll(final List<E> list) {
+        addAll(size + 1, (E[]) list.toArray());
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This version of {@code List#addAll(int, E[])} wraps each element
+     * in a {@code Link} and chains them together front to back before
+     * touching the {@code List}. It then iterates forwards to the
+     * desired index once and splices in the finished chain. If the
+     * desired index is 1 or size + 1 (either end of the list), then the
+     * chain is attached to the head or the tail {@code Link} without
+     * any iteration.
+     *
+     * @throws IndexOutOfBoundsException
+     */
+    @Override
+    public void addAll(final int index, final E[] array) {
+        if (index < 1 || index > size + 1){
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        if (array.length == 0) return;
+        Link<E> first = null, last = null;
+        for (final E e: array) {
+            final Link<E> insertion = new Link<>();
+            insertion.store = e;
+            if (last == null) first = insertion;
+            else last.next = insertion;
+            last = insertion;
+        }
+        if (index == size + 1) {
+            if (tail == null) head = first;
+            else tail.next = first;
+            tail = last;
+        } else if (index == 1) {
+            last.next = head;
+            head = first;
+            fingerIndex += array.length;
+        } else {
+            final Link<E> prev = navigateToLinkAt(index - 1);
+            last.next = prev.next;
+            prev.next = first;
+        }
+        size += array.length;
+        modCount++;
+        if (hashIndex != null && index + array.length == size + 1)
+            hashIndex.appended(array, index, modCount);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(final int index, final List<E> list) {
+        addAll(index, (E[]) list.toArray());
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -159,6 +256,8 @@ public class SinglyLinkedList<E> implements List<E> {
         final Link<E> curr = navigateToLinkAt(index);
         final E removal = curr.store;
         curr.store = element;
+        if (hashIndex != null)
+            hashIndex.replaced(removal, element, index, modCount);
         return removal;
     }
 
@@ -192,41 +291,27 @@ public class SinglyLinkedList<E> implements List<E> {
      * @return whether or not the removal was successful
      */
     public boolean remove(final E element) {
+        if (hashIndex != null) {
+            final int index = indexOf(element);
+            if (index < 0) return false;
+            remove(index);
+            return true;
+        }
         if (head == null) return false;
-        if (element == null) {
-            if (head.store == null) {
-                unlinkHead();
-                return true;
-            }
-            for (
-                    Link<E> p = head, c = head.next;
-                    c != null;
-                    p = c, c = c.next
-            ) {
-                if(c.store == null) {
-                    p.next = c.next;
-                    size--;
-                    return true;
-                }
-            }
-        } else {
-            if (head.store != null
-                    && head.store.equals(element)) {
-                unlinkHead();
+        finger = null;
+        if (element == null ? head.store == null : element.equals(head.store)) {
+            unlinkHead();
+            return true;
+        }
+        for (
+                Link<E> p = head, c = head.next;
+                c != null;
+                p = c, c = c.next
+        ) {
+            if (element == null ? c.store == null : element.equals(c.store)) {
+                unlinkAfter(p);
                 return true;
             }
-            for (
-                    Link<E> p = head, c = head.next;
-                    c != null;
-                    p = c, c = c.next
-            ) {
-                if (c.store != null
-                        && c.store.equals(element)) {
-                    p.next = c.next;
-                    size--;
-                    return true;
-                }
-            }
         }
         return false;
     }
@@ -242,47 +327,21 @@ public class SinglyLinkedList<E> implements List<E> {
      */
     public boolean removeAll(final E element) {
         if (head == null) return false;
+        finger = null;
         boolean isRemoved = false;
-        if (element == null) {
-            if (head.store == null) {
-                unlinkHead();
-                isRemoved = true;
-            }
-            if(!isEmpty()) {
-                Link<E> p = head, c = head.next;
-                while (c != null) {
-                    if (c.store == null) {
-                        p.next = c.next;
-                        c = c.next;
-                        size--;
-                        isRemoved = true;
-                    } else {
-                        p = c;
-                        c = c.next;
-                    }
-                }
-            }
-        } else {
-            if (head.store != null
-                    && head.store.equals(element)) {
-                unlinkHead();
+        while (head != null && (element == null ?
+                head.store == null : element.equals(head.store))) {
+            unlinkHead();
+            isRemoved = true;
+        }
+        if (head == null) return isRemoved;
+        Link<E> p = head;
+        while (p.next != null) {
+            final Link<E> c = p.next;
+            if (element == null ? c.store == null : element.equals(c.store)) {
+                unlinkAfter(p);
                 isRemoved = true;
-            }
-            if(!isEmpty()) {
-                Link<E> p = head, c = head.next;
-                while (c != null) {
-                    if (c.store != null
-                            && c.store.equals(element)) {
-                        p.next = c.next;
-                        c = c.next;
-                        size--;
-                        isRemoved = true;
-                    } else {
-                        p = c;
-                        c = c.next;
-                    }
-                }
-            }
+            } else p = c;
         }
         return isRemoved;
     }
@@ -292,8 +351,9 @@ public class SinglyLinkedList<E> implements List<E> {
      *
      * <p>
      * This version of {@code List#remove(int)} iterates over the
-     * data until reaching the desired index. Here it removes the
-     * {@code link}, and returns it's storage.
+     * data until reaching the {@code Link} before the desired index.
+     * Here it removes the {@code link} after it, and returns it's
+     * storage.
      *
      * @throws IndexOutOfBoundsException
      */
@@ -304,11 +364,8 @@ public class SinglyLinkedList<E> implements List<E> {
                     "The given index is out of bounds."
             );
         }
-        if(index == size) return unlinkHead();
-        final Navigator<E> nav = navigateTo(index);
-        nav.prev.next = nav.curr.next;
-        size--;
-        return nav.curr.store;
+        if(index == 1) return unlinkHead();
+        return unlinkAfter(navigateToLinkAt(index - 1));
     }
 
     /**
@@ -322,6 +379,12 @@ public class SinglyLinkedList<E> implements List<E> {
      * @return whether or not the replacement was successful
      */
     public boolean replace(final E element, final E candidate){
+        if (hashIndex != null) {
+            final int index = indexOf(element);
+            if (index < 0) return false;
+            set(index, candidate);
+            return true;
+        }
         if (head == null) return false;
         if (element == null) {
             for (
@@ -362,6 +425,11 @@ public class SinglyLinkedList<E> implements List<E> {
      * @return whether or not the replacement was successful
      */
     public boolean replaceAll(final E element, final E candidate){
+        if (hashIndex != null) {
+            final int[] at = index().positions(element);
+            for (final int i : at) set(i, candidate);
+            return at.length > 0;
+        }
         if (head == null) return false;
         boolean isReplaced = false;
         if (element == null) {
@@ -396,14 +464,15 @@ public class SinglyLinkedList<E> implements List<E> {
      */
     @Override
     public int indexOf(final E element) {
+        if(hashIndex != null) return index().first(element);
         if(head == null) return -1;
-        int i = size;
+        int i = 1;
         if (element == null) {
-            for (Link<E> c = head; c != null; c = c.next, i--) {
+            for (Link<E> c = head; c != null; c = c.next, i++) {
                 if (c.store == null) return i;
             }
         } else {
-            for (Link<E> c = head; c != null; c = c.next, i--) {
+            for (Link<E> c = head; c != null; c = c.next, i++) {
                 if (c.store != null && c.store.equals(element))
                     return i;
             }
@@ -421,13 +490,17 @@ public class SinglyLinkedList<E> implements List<E> {
      */
     public List<Integer> findAll(final E element){
         final List<Integer> indices = new ArrayList<>();
-        int i = size;
+        if(hashIndex != null) {
+            for(final int at : index().positions(element)) indices.add(at);
+            return EllieCollections.unmodifiableList(indices);
+        }
+        int i = 1;
         if(element == null){
-            for (Link<E> c = head; c != null; c = c.next, i--) {
+            for (Link<E> c = head; c != null; c = c.next, i++) {
                 if(c.store == null) indices.add(i);
             }
         }else{
-            for (Link<E> c = head; c != null; c = c.next, i--) {
+            for (Link<E> c = head; c != null; c = c.next, i++) {
                 if(c.store != null && c.store.equals(element))
                     indices.add(i);
             }
@@ -435,16 +508,75 @@ public class SinglyLinkedList<E> implements List<E> {
         return EllieCollections.unmodifiableList(indices);
     }
 
+    /**
+     * A method that checks whether or not the {@code List} contains the
+     * given element. This is O(1) expected when the hash index is enabled.
+     *
+     * @param element the element to look for
+     * @return whether or not the element is in the {@code List}
+     */
+    public boolean contains(final E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * A method to turn on a hash index from each element to the indexes
+     * it occupies. While it is on, {@code indexOf}, {@code contains},
+     * {@code findAll}, {@code remove(E)}, {@code replace} and
+     * {@code replaceAll} find their elements in O(1) expected rather than
+     * by walking the {@code Link}s. Appends and {@code set} keep the index
+     * up to date as they go. Any other structural change leaves it to be
+     * rebuilt, in one pass, by the next lookup.
+     */
+    public void enableHashIndex() {
+        if (hashIndex == null) hashIndex = new HashIndex<>();
+    }
+
+    /**
+     * A method to turn off the hash index and release its memory.
+     */
+    public void disableHashIndex() {
+        hashIndex = null;
+    }
+
+    /*
+     * A method that returns the hash index, rebuilding it first if the
+     * List has changed shape since it was last brought up to date.
+     */
+    private HashIndex<E> index() {
+        if (!hashIndex.isCurrent(modCount))
+            hashIndex.rebuild(this, 1, modCount);
+        return hashIndex;
+    }
+
     /*
      * A method to unlink and return the head.
      */
     private E unlinkHead(){
+        if (finger == head) finger = null;
+        else fingerIndex--;
         final E removal = head.store;
         head = head.next;
+        if (head == null) tail = null;
         size--;
+        modCount++;
         return removal;
     }
 
+    /*
+     * A method to unlink and return the Link after the given one.
+     * Callers either leave the finger on the given Link, where it
+     * stays valid, or clear it beforehand.
+     */
+    private E unlinkAfter(final Link<E> prev){
+        final Link<E> removal = prev.next;
+        prev.next = removal.next;
+        if (removal == tail) tail = prev;
+        size--;
+        modCount++;
+        return removal.store;
+    }
+
     /**
      * @inheritDoc
      */
@@ -463,7 +595,9 @@ public class SinglyLinkedList<E> implements List<E> {
 
     /**
      * A void method to delete all elements within a given range
-     * (inclusive). Hints to garbage collection afterwards.
+     * (inclusive). This method navigates to the {@code Link} before the
+     * range once, then walks the range a single time, clearing each
+     * {@code Link}'s references as it goes, and joins the two ends.
      */
     public void deleteRange(final int startPos, final int endPos){
         if(startPos < 1 || endPos < 1 || startPos > size || endPos > size)
@@ -471,14 +605,24 @@ public class SinglyLinkedList<E> implements List<E> {
                     "The given index is out of bounds."
             );
         if ((endPos - startPos) >= 0) {
-            Link<E> start = navigateToLinkAt(startPos - 1);
-            if(endPos == size) head = start;
-            else {
-                Link<E> end = navigateToLinkAt(endPos + 1);
-                end.next = start;
+            final int count = endPos - startPos + 1;
+            final Link<E> before = startPos == 1 ?
+                    null : navigateToLinkAt(startPos - 1);
+            Link<E> n = before == null ? head : before.next;
+            for (int i = 0; i < count; i++) {
+                final Link<E> next = n.next;
+                n.store = null;
+                n.next = null;
+                n = next;
             }
-            size -= (endPos - startPos + 1);
-            System.gc();
+            if(before == null) {
+                head = n;
+                if(fingerIndex <= endPos) finger = null;
+                else fingerIndex -= count;
+            } else before.next = n;
+            if(n == null) tail = before;
+            size -= count;
+            modCount++;
         }
     }
 
@@ -489,13 +633,11 @@ public class SinglyLinkedList<E> implements List<E> {
      */
     @Override
     public String toString() {
-        final StringBuilder out = new StringBuilder("]");
+        final StringBuilder out = new StringBuilder("[");
         for (Link<E> n = head; n != null; n = n.next) {
-            out.insert(0, n).insert(
-                    0, (n.next != null ? ", " : "")
-            );
+            out.append(n).append((n.next != null ? ", " : ""));
         }
-        return out.insert(0, "[").toString();
+        return out.append("]").toString();
     }
 
     /**
@@ -512,16 +654,53 @@ public class SinglyLinkedList<E> implements List<E> {
     @Override
     public Object[] toArray() {
         Object[] array = new Object[size];
-        int i = size - 1;
+        int i = 0;
+        for (Link<E> n = head; n != null; n = n.next) {
+            array[i++] = n.store;
+        }
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method walks the {@code List} once, copying each element into
+     * the {@code Array}.
+     */
+    @Override
+    public E[] toArray(final E[] dest) {
+        final E[] array = dest.length >= size ? dest :
+                Arrays.copyOf(dest, size);
+        int i = 0;
         for (Link<E> n = head; n != null; n = n.next) {
-            array[i--] = n.store;
+            array[i++] = n.store;
         }
-        head = null;
-        size = 0;
-        System.gc();
+        if (array.length > size) array[size] = null;
         return array;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method walks the drained {@code Link}s once, from the
+     * {@code head}, and then makes the first remaining {@code Link} the
+     * new {@code head}.
+     */
+    @Override
+    public int drainTo(final E[] dest) {
+        final int count = Math.min(size, dest.length);
+        if (count == 0) return 0;
+        Link<E> n = head;
+        for (int i = 0; i < count; i++, n = n.next) dest[i] = n.store;
+        head = n;
+        if (head == null) tail = null;
+        if (fingerIndex <= count) finger = null;
+        else fingerIndex -= count;
+        size -= count;
+        modCount++;
+        return count;
+    }
+
     /**
      * @inheritDoc
      */
@@ -556,6 +735,170 @@ public class SinglyLinkedList<E> implements List<E> {
         return true;
     }
 
+    /**
+     * A method that returns a {@code ListCursor} positioned at the
+     * {@code head}, so that it walks the {@code List} from index 1 up.
+     *
+     * @return a {@code ListCursor} before the {@code head}
+     */
+    public ListCursor<E> cursor() {
+        return new Cursor(null, head);
+    }
+
+    /**
+     * A method that returns a {@code ListCursor} positioned so that its
+     * first call to {@code next()} returns the element at the given index.
+     * It can set, remove and insert elements at its position in O(1).
+     *
+     * @param index the index of the first element to be returned
+     * @return a {@code ListCursor} before the given index
+     * @throws IndexOutOfBoundsException
+     */
+    public ListCursor<E> cursor(final int index) {
+        if (index < 1 || index > size){
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        if (index == 1) return cursor();
+        final Link<E> prev = navigateToLinkAt(index - 1);
+        return new Cursor(prev, prev.next);
+    }
+
+    /*
+     * Cursor
+     *
+     * A ListCursor that holds on to the Link it is about to return,
+     * the Link in front of that one, and the Link in front of the one
+     * it returned last. The last of these is what allows removal in
+     * O(1) without a backwards Link.
+     */
+    private final class Cursor implements ListCursor<E> {
+
+        private Link<E> prev;
+        private Link<E> next;
+        private Link<E> lastReturned;
+        private Link<E> lastPrev;
+        private int expectedModCount = modCount;
+
+        public Cursor(final Link<E> prev, final Link<E> next) {
+            this.prev = prev;
+            this.next = next;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (next == null)
+                throw new NoSuchElementException();
+            lastPrev = prev;
+            lastReturned = prev = next;
+            next = next.next;
+            return lastReturned.store;
+        }
+
+        @Override
+        public void set(final E element) {
+            if (lastReturned == null) throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.store = element;
+            if (hashIndex != null) hashIndex.invalidate();
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) throw new IllegalStateException();
+            checkForComodification();
+            if (lastPrev == null) head = next;
+            else lastPrev.next = next;
+            if (lastReturned == tail) tail = lastPrev;
+            prev = lastPrev;
+            lastReturned = null;
+            finger = null;
+            size--;
+            expectedModCount = ++modCount;
+        }
+
+        @Override
+        public void add(final E element) {
+            checkForComodification();
+            final Link<E> insertion = new Link<>();
+            insertion.store = element;
+            insertion.next = next;
+            if (prev == null) head = insertion;
+            else prev.next = insertion;
+            if (next == null) tail = insertion;
+            prev = insertion;
+            lastReturned = null;
+            finger = null;
+            size++;
+            expectedModCount = ++modCount;
+        }
+
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code Iterator} follows the {@code Link}s from the
+     * {@code head}, so a full traversal is O(n). It is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator over the elements in index order.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private Link<E> next = head;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next == null)
+                throw new NoSuchElementException();
+            final E e = next.store;
+            next = next.next;
+            return e;
+        }
+
+    }
+
     /**
      * Link
      *
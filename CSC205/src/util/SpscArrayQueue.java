@@ -0,0 +1,503 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Single-Producer Single-Consumer Array Queue
+ *
+ * <p>A bounded, lock-free {@code Queue} for handing elements from exactly
+ * one producer thread to exactly one consumer thread. The elements are
+ * kept in a circular {@code Array} whose capacity is a power of two, so
+ * that a position wraps around with a single bit-mask.
+ *
+ * <p>Positions are counted by two ever-increasing {@code long}s: the tail,
+ * written only by the producer, and the head, written only by the
+ * consumer. Each side publishes its own counter with a release store and
+ * reads the other's with an acquire load, so an element written into the
+ * {@code Array} before the tail moves is visible to the consumer once it
+ * sees the new tail, and a slot nulled out before the head moves is free
+ * once the producer sees the new head. No locks are taken and nothing is
+ * allocated after construction.
+ *
+ * <p>Each side also keeps a cached copy of the other side's counter, and
+ * only goes back to the shared one when the cached copy says that the
+ * {@code Queue} is full (for the producer) or empty (for the consumer).
+ * The two groups of counters are separated by padding in the class
+ * hierarchy, so that the producer and the consumer never write to the
+ * same cache line.
+ *
+ * <p>{@link #insert(Object)}, {@link #offer(Object)} and
+ * {@link #fill(Supplier, int)} may only be called by the producer.
+ * {@link #delete()}, {@link #poll()}, {@link #peek()} and
+ * {@link #drain(Consumer, int)} may only be called by the consumer. Every
+ * other method may be called from any thread, but only gives an
+ * approximate view while the {@code Queue} is in use. Null elements are
+ * not permitted, as null marks an empty {@code Queue}.
+ *
+ * @param <E> the type
+ */
+public final class SpscArrayQueue<E> extends SpscPad2<E> implements Queue<E> {
+
+    /*
+     * The largest power of two that an Array can have.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The {@code internal Array} used to store the elements. Its length
+     * is always a power of two.
+     */
+    private final E[] internal;
+
+    /**
+     * The length of the {@code Array}, less one. A position is masked with
+     * it to find its index.
+     */
+    private final int mask;
+
+    /**
+     * A public {@code constructor} for a {@code Queue} that can hold at
+     * least the given number of elements.
+     *
+     * @param capacity the capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public SpscArrayQueue(final int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException();
+        final int length = capacity <= 2 ? 2 : capacity >= MAXIMUM_CAPACITY ?
+                MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+        internal = (E[]) new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * A method that returns the number of elements the {@code Queue} can
+     * hold.
+     *
+     * @return the capacity of the {@code Queue}
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Producer only.
+     *
+     * @param input {@code Element}
+     * @throws IllegalStateException if the {@code Queue} is full
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void insert(final E input) {
+        if (!offer(input)) throw new IllegalStateException("Queue full");
+    }
+
+    /**
+     * A method to insert an element into the back of the {@code Queue} if
+     * there is room for it. Producer only.
+     *
+     * @param input {@code Element}
+     * @return whether or not the element was inserted
+     * @throws NullPointerException if the element is null
+     */
+    public boolean offer(final E input) {
+        if (input == null) throw new NullPointerException();
+        final long t = tail;
+        if (t - headCache > mask) {
+            headCache = headAcquire();
+            if (t - headCache > mask) return false;
+        }
+        internal[(int) t & mask] = input;
+        releaseTail(t + 1);
+        return true;
+    }
+
+    /**
+     * A method to insert up to {@code limit} elements, taken from the given
+     * {@code Supplier}, into the back of the {@code Queue}. The whole batch
+     * is published with a single release store. Producer only.
+     *
+     * @param s the {@code Supplier} of elements
+     * @param limit the largest number of elements to insert
+     * @return the number of elements inserted, which is less than
+     *         {@code limit} if the {@code Queue} filled up
+     * @throws IllegalArgumentException if the limit is negative
+     * @throws NullPointerException if the {@code Supplier} gives a null
+     *                              element; any elements before it are
+     *                              still inserted
+     */
+    public int fill(final Supplier<? extends E> s, final int limit) {
+        if (s == null) throw new NullPointerException();
+        if (limit < 0) throw new IllegalArgumentException();
+        final long t = tail;
+        long free = mask + 1 - (t - headCache);
+        if (free < limit) {
+            headCache = headAcquire();
+            free = mask + 1 - (t - headCache);
+        }
+        final int n = (int) Math.min(free, limit);
+        int i = 0;
+        try {
+            for (; i < n; i++) {
+                final E e = s.get();
+                if (e == null) throw new NullPointerException();
+                internal[(int) (t + i) & mask] = e;
+            }
+        } finally {
+            if (i > 0) releaseTail(t + i);
+        }
+        return n;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Consumer only. If the {@code Queue} is empty, this method
+     * returns null.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}
+     */
+    @Override
+    public E delete() {
+        return poll();
+    }
+
+    /**
+     * A method to delete the element at the front of the {@code Queue}
+     * and return it. Consumer only.
+     *
+     * @return the {@code Element} at the front of the {@code Queue}, or
+     *         null if the {@code Queue} is empty
+     */
+    public E poll() {
+        final long h = head;
+        if (h >= tailCache) {
+            tailCache = tailAcquire();
+            if (h >= tailCache) return null;
+        }
+        final int index = (int) h & mask;
+        final E removal = internal[index];
+        internal[index] = null;
+        releaseHead(h + 1);
+        return removal;
+    }
+
+    /**
+     * A method to delete up to {@code limit} elements from the front of the
+     * {@code Queue}, handing each to the given {@code Consumer} in order.
+     * The freed slots are returned to the producer with a single release
+     * store. Consumer only.
+     *
+     * @param c the {@code Consumer} of elements
+     * @param limit the largest number of elements to delete
+     * @return the number of elements deleted, which is less than
+     *         {@code limit} if the {@code Queue} ran empty
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public int drain(final Consumer<? super E> c, final int limit) {
+        if (c == null) throw new NullPointerException();
+        if (limit < 0) throw new IllegalArgumentException();
+        final long h = head;
+        long available = tailCache - h;
+        if (available < limit) {
+            tailCache = tailAcquire();
+            available = tailCache - h;
+        }
+        final int n = (int) Math.min(available, limit);
+        int i = 0;
+        try {
+            while (i < n) {
+                final int index = (int) (h + i) & mask;
+                final E e = internal[index];
+                internal[index] = null;
+                i++;
+                c.accept(e);
+            }
+        } finally {
+            if (i > 0) releaseHead(h + i);
+        }
+        return n;
+    }
+
+    /**
+     * A method to delete every element currently in the {@code Queue},
+     * handing each to the given {@code Consumer} in order. Consumer only.
+     *
+     * @param c the {@code Consumer} of elements
+     * @return the number of elements deleted
+     * @see #drain(Consumer, int)
+     */
+    public int drain(final Consumer<? super E> c) {
+        return drain(c, mask + 1);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Consumer only. If the {@code Queue} is empty, this method
+     * returns null.
+     */
+    @Override
+    public E peek() {
+        final long h = head;
+        if (h >= tailCache) {
+            tailCache = tailAcquire();
+            if (h >= tailCache) return null;
+        }
+        return internal[(int) h & mask];
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>While the {@code Queue} is in use, the result is only a snapshot,
+     * but it is always between zero and the capacity.
+     */
+    @Override
+    public int size() {
+        long h = headAcquire(), before;
+        long t;
+        do {
+            before = h;
+            t = tailAcquire();
+            h = headAcquire();
+        } while (h != before);
+        return (int) Math.max(0, Math.min(t - h, mask + 1));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return headAcquire() >= tailAcquire();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+        for (final Iterator<E> it = iterator(); it.hasNext(); ) {
+            out.append(it.next()).append(it.hasNext() ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toStore() {
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < internal.length; i++) {
+            out.append(internal[i]).append((i < internal.length - 1) ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * the hash code is based on identity, as in
+     * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Queue} change under other threads,
+     * equality is based on identity, as in
+     * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} is weakly consistent. It never throws
+     * {@link java.util.ConcurrentModificationException}, and it returns
+     * elements from the front of the {@code Queue} towards the position of
+     * the back when it was created. Elements that the consumer deletes in
+     * the meantime are skipped. It is meant for monitoring, and may be used
+     * from any thread.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} is backed by the weakly consistent
+     * {@code Iterator}, and reports {@link Spliterator#ORDERED},
+     * {@link Spliterator#NONNULL} and {@link Spliterator#CONCURRENT}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL |
+                        Spliterator.CONCURRENT);
+    }
+
+    /*
+     * Itr
+     *
+     * A weakly consistent Iterator over the positions between the head
+     * and the tail, as seen when it was created. Each element is fetched
+     * ahead of time, and the head is checked again afterwards, so that a
+     * slot the producer may have reused is never returned.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private final long fence = tailAcquire();
+        private long position = headAcquire();
+        private E next;
+
+        public Itr() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            for (; position < fence; position++) {
+                final E e = internal[(int) position & mask];
+                VarHandle.acquireFence();
+                if (e != null && headAcquire() <= position) {
+                    next = e;
+                    position++;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            final E e = next;
+            if (e == null) throw new NoSuchElementException();
+            advance();
+            return e;
+        }
+
+    }
+
+}
+
+/*
+ * The padding and counters of an SpscArrayQueue are laid out through a
+ * chain of superclasses, because the JVM places the fields of a superclass
+ * before those of its subclasses. Each run of padding is 128 bytes, wide
+ * enough to cover a pair of adjacent cache lines, so the producer's fields
+ * and the consumer's fields are never in the same line as each other or
+ * as the object header.
+ */
+
+abstract class SpscPad0<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class SpscProducerFields<E> extends SpscPad0<E> {
+
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(
+                    SpscProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * The position that the next element will be inserted at. Written
+     * only by the producer.
+     */
+    long tail;
+
+    /*
+     * The producer's last look at the head.
+     */
+    long headCache;
+
+    final long tailAcquire() {
+        return (long) TAIL.getAcquire(this);
+    }
+
+    final void releaseTail(final long t) {
+        TAIL.setRelease(this, t);
+    }
+
+}
+
+abstract class SpscPad1<E> extends SpscProducerFields<E> {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p30, p31, p32, p33, p34, p35;
+}
+
+abstract class SpscConsumerFields<E> extends SpscPad1<E> {
+
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(
+                    SpscConsumerFields.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * The position of the element at the front. Written only by the
+     * consumer.
+     */
+    long head;
+
+    /*
+     * The consumer's last look at the tail.
+     */
+    long tailCache;
+
+    final long headAcquire() {
+        return (long) HEAD.getAcquire(this);
+    }
+
+    final void releaseHead(final long h) {
+        HEAD.setRelease(this, h);
+    }
+
+}
+
+abstract class SpscPad2<E> extends SpscConsumerFields<E> {
+    long p40, p41, p42, p43, p44, p45, p46, p47;
+    long p48, p49, p50, p51, p52, p53, p54, p55;
+}
@@ -1,5 +1,11 @@
 package util;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 /**
  * Tree Map
  *
@@ -58,6 +64,12 @@ public class TreeMap<K, V> implements Map<K, V> {
      */
     private int size;
 
+    /**
+     * The number of times the {@code Map} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
     /**
      * The {@code EllieComparator} to be used.
      */
@@ -134,6 +146,7 @@ public class TreeMap<K, V> implements Map<K, V> {
         Node<K, V> nav = navigateTo(key);
         if (nav == null) return null;
         size--;
+        modCount++;
         return deleteNode(nav);
     }
 
@@ -153,6 +166,35 @@ public class TreeMap<K, V> implements Map<K, V> {
         return root == null;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This version of {@code #iterator()} visits the values in key
+     * order, stepping from each {@code Node} to its successor. A full
+     * traversal is O(n). The {@code Iterator} is fail-fast.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The {@code Spliterator} covers a range of keys bounded by two
+     * {@code Node}s. The first split happens at the root, and each later
+     * split happens at the root of the remaining sub-tree, so the halves
+     * stay roughly balanced without counting any {@code Node}s. It
+     * reports {@link Spliterator#ORDERED}, and {@link Spliterator#SIZED}
+     * until it is first split.
+     */
+    @Override
+    public Spliterator<V> spliterator() {
+        return new Splitr(null, null, 0, -1, 0);
+    }
+
     /////////////////////////////////////////////////////////////////////
     // <<<<<<<<<< START INTERNAL COMPONENTS OF THE TREE MAP >>>>>>>>>> //
     /////////////////////////////////////////////////////////////////////
@@ -294,6 +336,7 @@ public class TreeMap<K, V> implements Map<K, V> {
             if (cmp < 0) {
                 if (nav.left == null) {
                     size++;
+                    modCount++;
                     return nav.left = new Node<>(
                             key, Color.RED, nav
                     );
@@ -302,6 +345,7 @@ public class TreeMap<K, V> implements Map<K, V> {
             } else if (cmp > 0) {
                 if (nav.right == null) {
                     size++;
+                    modCount++;
                     return nav.right = new Node<>(
                             key, Color.RED, nav
                     );
@@ -312,6 +356,7 @@ public class TreeMap<K, V> implements Map<K, V> {
             }
         }
         size = 1;
+        modCount++;
         return root = new Node<>(
                 key, Color.BLACK, null
         );
@@ -809,6 +854,145 @@ public class TreeMap<K, V> implements Map<K, V> {
                 splitHash(curr.right, hash);
     }
 
+    /*
+     * A method to find the Node with the smallest key.
+     */
+    private Node<K, V> first() {
+        Node<K, V> n = root;
+        if (n != null) while (n.left != null) n = n.left;
+        return n;
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator that walks the Nodes in key order.
+     */
+    private final class Itr implements Iterator<V> {
+
+        private Node<K, V> next = first();
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next == null)
+                throw new NoSuchElementException();
+            final V value = next.value;
+            next = successor(next);
+            return value;
+        }
+
+    }
+
+    /*
+     * Splitr
+     *
+     * A Spliterator over the Nodes from current (inclusive) up to
+     * fence (exclusive, null for the end of the Tree). The side records
+     * where the next split point will be found:
+     *
+     *      0) the root       - This Spliterator has never been split.
+     *
+     *      1) current.right  - This Spliterator kept the upper half of
+     *                          a split.
+     *
+     *     -1) fence.left     - This Spliterator is the lower half of a
+     *                          split.
+     *
+     * A negative estimate means that the Spliterator has not yet been
+     * bound to the Tree; binding happens on first use.
+     */
+    private final class Splitr implements Spliterator<V> {
+
+        private Node<K, V> current;
+        private final Node<K, V> fence;
+        private int side;
+        private int est;
+        private int expectedModCount;
+
+        public Splitr(final Node<K, V> origin, final Node<K, V> fence,
+                      final int side, final int est,
+                      final int expectedModCount) {
+            this.current = origin;
+            this.fence = fence;
+            this.side = side;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getEstimate() {
+            if (est < 0) {
+                expectedModCount = modCount;
+                current = first();
+                est = size;
+            }
+            return est;
+        }
+
+        @Override
+        public Spliterator<V> trySplit() {
+            getEstimate();
+            final Node<K, V> e = current, f = fence;
+            final Node<K, V> s =
+                    (e == null || e == f) ? null :
+                    (side == 0) ? root :
+                    (side > 0) ? e.right :
+                    (f != null) ? f.left : null;
+            if (s != null && s != e && s != f
+                    && comp.compare(e.key, s.key) < 0) {
+                side = 1;
+                return new Splitr(e, current = s, -1,
+                        est >>>= 1, expectedModCount);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super V> action) {
+            if (action == null) throw new NullPointerException();
+            getEstimate();
+            final Node<K, V> e = current;
+            if (e == null || e == fence) return false;
+            current = successor(e);
+            action.accept(e.value);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super V> action) {
+            if (action == null) throw new NullPointerException();
+            getEstimate();
+            for (Node<K, V> e = current; e != null && e != fence;
+                 e = successor(e)) {
+                action.accept(e.value);
+            }
+            current = fence;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEstimate();
+        }
+
+        @Override
+        public int characteristics() {
+            return (side == 0 ? Spliterator.SIZED : 0) |
+                    Spliterator.ORDERED;
+        }
+
+    }
+
     /*
      * A constant to trim the excess in toString().
      */
@@ -0,0 +1,605 @@
+package util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Unrolled Linked List
+ *
+ * <p>An {@code UnrolledLinkedList} is a {@code List} that stores its data in
+ * a doubly-linked chain of {@code Node}s, where each {@code Node} holds a
+ * small {@code Array} of up to {@code NODE_CAPACITY} elements.
+ *
+ * <p>Compared to a {@code LinkedList}, which allocates one {@code Link} per
+ * element, an {@code UnrolledLinkedList} allocates one {@code Node} per block
+ * of elements. This cuts the memory spent on object headers and pointers by
+ * a large factor and keeps neighbouring elements next to each other in memory.
+ * Navigation to an index skips over whole {@code Node}s at a time, starting
+ * from whichever end of the {@code List} is closer.
+ *
+ * <p>Appending and prepending are O(1) amortized, as they only ever touch the
+ * {@code Node} at that end of the chain. Insertion and removal in the middle
+ * shift at most one {@code Node}'s worth of elements. A full {@code Node} is
+ * split in half before an insertion, and a {@code Node} that runs low is
+ * merged with its successor.
+ *
+ * @param <E> the type
+ */
+public class UnrolledLinkedList<E> implements List<E> {
+
+    /*
+     * The number of elements that a single Node can hold.
+     */
+    private static final int NODE_CAPACITY = 64;
+
+    /*
+     * The combined size at or below which two neighbouring Nodes
+     * are merged into one after a removal.
+     */
+    private static final int MERGE_THRESHOLD = NODE_CAPACITY >>> 1;
+
+    /**
+     * The first {@code Node} in the chain. There is always at least one
+     * {@code Node}, even when the {@code List} is empty.
+     */
+    private Node<E> head;
+
+    /**
+     * The last {@code Node} in the chain.
+     */
+    private Node<E> tail;
+
+    /**
+     * The size of the {@code List}.
+     */
+    private int size;
+
+    /**
+     * The number of times the {@code List} has been structurally
+     * modified. Used by {@code Iterator}s to fail fast.
+     */
+    private int modCount;
+
+    /*
+     * The offset into the Node most recently returned by
+     * locate(int). Only valid until the next call.
+     */
+    private int offset;
+
+    /**
+     * A public constructor for an {@code UnrolledLinkedList}. Its purpose is
+     * to initialize a single, empty {@code Node} and set the {@code size}
+     * equal to zero.
+     */
+    public UnrolledLinkedList() {
+        head = tail = new Node<>();
+        size = 0;
+    }
+
+    /**
+     * A secondary constructor for an {@code UnrolledLinkedList} which takes
+     * an element array as a parameter.
+     *
+     * @param array the array to be converted.
+     */
+    public UnrolledLinkedList(final E[] array) {
+        this();
+        addAll(array);
+    }
+
+    /*
+     * Node
+     *
+     * The basic unit of an Unrolled Linked List. A Node has the
+     * following defining characteristics:
+     *
+     *      1) items     - A fixed-length Array holding the Node's
+     *                     elements in its first count slots.
+     *
+     *      2) count     - The number of elements in the Node.
+     *
+     *      3) next      - A reference to the next Node.
+     *
+     *      4) prev      - A reference to the previous Node.
+     *
+     */
+    private static final class Node<E> {
+
+        public final Object[] items = new Object[NODE_CAPACITY];
+        public int count;
+        public Node<E> next;
+        public Node<E> prev;
+
+        @SuppressWarnings("unchecked")
+        public E get(final int i) {
+            return (E) items[i];
+        }
+
+        public void insert(final int i, final E e) {
+            System.arraycopy(items, i, items, i + 1, count - i);
+            items[i] = e;
+            count++;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E delete(final int i) {
+            final E removal = (E) items[i];
+            System.arraycopy(items, i + 1, items, i, count - i - 1);
+            items[--count] = null;
+            return removal;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder out = new StringBuilder("[");
+            for (int i = 0; i < count; i++) {
+                out.append(items[i]).append((i < count - 1) ? ", " : "");
+            }
+            return out.append("]").toString();
+        }
+
+    }
+
+    /*
+     * A method to navigate to the Node holding the given index. If the
+     * index is less than half of the size, this method will start at the
+     * head. Otherwise, it will start at the tail. Whole Nodes are skipped
+     * using their counts. The offset of the index within the returned Node
+     * is left in the offset field.
+     */
+    private Node<E> locate(final int index) {
+        Node<E> n;
+        if (index < (size >>> 1)) {
+            int base = 0;
+            for (n = head; base + n.count <= index; n = n.next)
+                base += n.count;
+            offset = index - base;
+        } else {
+            int base = size;
+            for (n = tail; base - n.count > index; n = n.prev)
+                base -= n.count;
+            offset = index - (base - n.count);
+        }
+        return n;
+    }
+
+    /*
+     * A method to link a new, empty Node in after the given Node.
+     */
+    private Node<E> linkAfter(final Node<E> n) {
+        final Node<E> addition = new Node<>();
+        addition.prev = n;
+        addition.next = n.next;
+        if (n.next != null) n.next.prev = addition;
+        else tail = addition;
+        n.next = addition;
+        return addition;
+    }
+
+    /*
+     * A method to unlink the given Node from the chain, unless it is
+     * the only Node.
+     */
+    private void unlinkNode(final Node<E> n) {
+        if (head == tail) return;
+        if (n.prev != null) n.prev.next = n.next;
+        else head = n.next;
+        if (n.next != null) n.next.prev = n.prev;
+        else tail = n.prev;
+    }
+
+    /*
+     * A method to tidy up after a removal from the given Node. An empty
+     * Node is unlinked, and a Node that can share with its successor
+     * absorbs it.
+     */
+    private void rebalance(final Node<E> n) {
+        if (n.count == 0) {
+            unlinkNode(n);
+            return;
+        }
+        final Node<E> next = n.next;
+        if (next != null && n.count + next.count <= MERGE_THRESHOLD) {
+            System.arraycopy(next.items, 0, n.items, n.count, next.count);
+            n.count += next.count;
+            unlinkNode(next);
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public E get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        return locate(index).get(offset);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public E set(final int index, final E element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        final Node<E> n = locate(index);
+        final E removal = n.get(offset);
+        n.items[offset] = element;
+        return removal;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method shifts the elements of a single {@code Node}. If the
+     * {@code Node} drops low enough, it is merged with its successor.
+     */
+    @Override
+    public E remove(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        final Node<E> n = locate(index);
+        final E removal = n.delete(offset);
+        size--;
+        modCount++;
+        rebalance(n);
+        return removal;
+    }
+
+    /**
+     * A method that removes the first occurrence of the given element.
+     * This method accepts a null parameter safely.
+     *
+     * @param element the element to be removed
+     * @return whether or not the element was removed
+     */
+    @Override
+    public boolean remove(final E element) {
+        final int index = indexOf(element);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean replace(final E candidate, final E element) {
+        final int index = indexOf(candidate);
+        if (index < 0) return false;
+        set(index, element);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the {@code Node} holding the index is full, it is first split
+     * in half, so that an insertion never shifts more than one
+     * {@code Node}'s worth of elements.
+     */
+    @Override
+    public void add(final int index, final E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    "The given index is out of bounds."
+            );
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+        if (index == 0) {
+            addFirst(element);
+            return;
+        }
+        Node<E> n = locate(index);
+        int i = offset;
+        if (n.count == NODE_CAPACITY) {
+            final Node<E> upper = linkAfter(n);
+            final int half = NODE_CAPACITY >>> 1;
+            System.arraycopy(n.items, half, upper.items, 0, half);
+            Arrays.fill(n.items, half, NODE_CAPACITY, null);
+            n.count = upper.count = half;
+            if (i >= half) {
+                n = upper;
+                i -= half;
+            }
+        }
+        n.insert(i, element);
+        size++;
+        modCount++;
+    }
+
+    /*
+     * A method to insert an element at the head of the List. A new
+     * head Node is started when the current one is full.
+     */
+    private void addFirst(final E element) {
+        Node<E> n = head;
+        if (n.count == NODE_CAPACITY) {
+            n = new Node<>();
+            n.next = head;
+            head.prev = n;
+            head = n;
+        }
+        n.insert(0, element);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The element is placed in the tail {@code Node}. A new tail
+     * {@code Node} is started when the current one is full.
+     */
+    @Override
+    public UnrolledLinkedList<E> add(final E element) {
+        Node<E> n = tail;
+        if (n.count == NODE_CAPACITY) n = linkAfter(n);
+        n.items[n.count++] = element;
+        size++;
+        modCount++;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The tail {@code Node} is topped up first, then the rest of the
+     * elements are copied into fresh {@code Node}s a block at a time.
+     */
+    @Override
+    public UnrolledLinkedList<E> addAll(final E[] array) {
+        int i = 0;
+        Node<E> n = tail;
+        while (i < array.length) {
+            if (n.count == NODE_CAPACITY) n = linkAfter(n);
+            final int length = Math.min(
+                    NODE_CAPACITY - n.count, array.length - i
+            );
+            System.arraycopy(array, i, n.items, n.count, length);
+            n.count += length;
+            i += length;
+        }
+        size += array.length;
+        modCount++;
+        return this;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int indexOf(final E element) {
+        int base = 0;
+        for (Node<E> n = head; n != null; base += n.count, n = n.next) {
+            for (int i = 0; i < n.count; i++) {
+                final Object e = n.items[i];
+                if (element == null ? e == null : element.equals(e))
+                    return base + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Object[] toArray() {
+        final Object[] array = new Object[size];
+        int i = 0;
+        for (Node<E> n = head; n != null; n = n.next) {
+            System.arraycopy(n.items, 0, array, i, n.count);
+            i += n.count;
+        }
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each {@code Node}'s {@code Array} is copied out with a single
+     * {@link System#arraycopy(Object, int, Object, int, int)}.
+     */
+    @Override
+    public E[] toArray(final E[] dest) {
+        final E[] array = dest.length >= size ? dest :
+                Arrays.copyOf(dest, size);
+        int i = 0;
+        for (Node<E> n = head; n != null; n = n.next) {
+            System.arraycopy(n.items, 0, array, i, n.count);
+            i += n.count;
+        }
+        if (array.length > size) array[size] = null;
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Whole {@code Node}s are copied out and dropped from the head of
+     * the chain. Only the last {@code Node} touched, if it is not drained
+     * completely, has its remaining elements shifted down.
+     */
+    @Override
+    public int drainTo(final E[] dest) {
+        final int count = Math.min(size, dest.length);
+        if (count == 0) return 0;
+        Node<E> n = head;
+        int i = 0;
+        while (i < count) {
+            final int take = Math.min(n.count, count - i);
+            System.arraycopy(n.items, 0, dest, i, take);
+            i += take;
+            if (take < n.count) {
+                System.arraycopy(n.items, take, n.items, 0, n.count - take);
+                Arrays.fill(n.items, n.count - take, n.count, null);
+                n.count -= take;
+            } else if (n.next != null) {
+                n = n.next;
+            } else {
+                Arrays.fill(n.items, 0, n.count, null);
+                n.count = 0;
+            }
+        }
+        head = n;
+        n.prev = null;
+        size -= count;
+        modCount++;
+        if (n.count > 0) rebalance(n);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} walks each {@code Node}'s {@code Array} in
+     * turn, so a full traversal is O(n). It is fail-fast.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#ORDERED}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /*
+     * Itr
+     *
+     * A fail-fast Iterator that walks the Nodes in order.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private Node<E> node = head;
+        private int cursor;
+        private int remaining = size;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            while (cursor >= node.count) {
+                node = node.next;
+                cursor = 0;
+            }
+            remaining--;
+            return node.get(cursor++);
+        }
+
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        final StringBuilder out = new StringBuilder("[");
+        int i = 0;
+        for (Node<E> n = head; n != null; n = n.next) {
+            for (int j = 0; j < n.count; j++) {
+                out.append(n.items[j]);
+                if (++i < size) out.append(", ");
+            }
+        }
+        return out.append("]").toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toStore() {
+        final StringBuilder out = new StringBuilder("[");
+        for (Node<E> n = head; n != null; n = n.next) {
+            out.append(n).append((n.next != null) ? ", " : "");
+        }
+        return out.append("]").toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (Node<E> n = head; n != null; n = n.next) {
+            for (int i = 0; i < n.count; i++) {
+                final Object e = n.items[i];
+                hash = EllieCollections.HASH_CODE_CONST * hash +
+                        (e != null ? e.hashCode() : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(final Object other) {
+        if (this == other) return true;
+        if (other == null) return false;
+        if (!(other instanceof UnrolledLinkedList)) return false;
+        final UnrolledLinkedList<E> cast = (UnrolledLinkedList<E>) other;
+        if (cast.size != this.size) return false;
+        final Iterator<E> it = cast.iterator();
+        for (final E e : this) {
+            final E oe = it.next();
+            if (e == null ? oe != null : !e.equals(oe)) return false;
+        }
+        return true;
+    }
+
+}
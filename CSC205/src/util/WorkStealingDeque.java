@@ -0,0 +1,393 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Work-Stealing Deque
+ *
+ * <p>A {@code Deque} of tasks owned by a single worker thread, which other
+ * threads may steal from, after the circular array algorithm of Chase and
+ * Lev, with the memory orderings given by Le, Pop, Cohen and Zappa
+ * Nardelli.
+ *
+ * <p>The owner pushes and pops at the front, with
+ * {@link #insertOnFront(Object)} and {@link #delete()}, so that it always
+ * works on its most recent task. Thieves take from the back, with
+ * {@link #deleteFromBack()}, so that they take the oldest task, furthest
+ * from what the owner is doing. {@link #insert(Object)} would push at the
+ * back on behalf of another thread, which the algorithm does not allow, so
+ * it is not supported.
+ *
+ * <p>The elements are kept in a circular {@code Array} whose length is a
+ * power of two, indexed by two ever-increasing {@code long}s: the bottom,
+ * one past the owner's end, which only the owner writes, and the top, the
+ * thieves' end, which is only ever moved by compare-and-set. The owner
+ * pushes and pops without any atomic read-modify-write at all, except when
+ * it pops the very last element and must race the thieves for it. A steal
+ * is a single compare-and-set; a thief that loses the race gets null back
+ * rather than retrying, and may simply try again or look elsewhere.
+ *
+ * <p>When the {@code Array} fills up, the owner copies the live elements
+ * into one twice the size and publishes it. Thieves that still hold the
+ * old {@code Array} read the same elements from it, so growth never blocks
+ * them.
+ *
+ * <p>Null elements are not permitted, as null marks an empty
+ * {@code Deque} or a lost steal. A stolen element stays referenced from its
+ * slot until the owner reuses that slot, as clearing it from a thief could
+ * race with the owner.
+ *
+ * @param <E> the type
+ */
+public class WorkStealingDeque<E> implements Deque<E> {
+
+    private static final VarHandle TOP;
+    private static final VarHandle BOTTOM;
+    private static final VarHandle INTERNAL;
+
+    static {
+        try {
+            final MethodHandles.Lookup l = MethodHandles.lookup();
+            TOP = l.findVarHandle(WorkStealingDeque.class, "top", long.class);
+            BOTTOM = l.findVarHandle(WorkStealingDeque.class, "bottom", long.class);
+            INTERNAL = l.findVarHandle(WorkStealingDeque.class, "internal", Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * The capacity of a Deque constructed without one.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /*
+     * The largest power of two that an Array can have.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The {@code internal Array} used to store the elements. Its length is
+     * always a power of two. Replaced, never resized, by the owner.
+     */
+    private E[] internal;
+
+    /**
+     * The position of the element at the back, where thieves steal from.
+     * Only ever moved forward, by compare-and-set.
+     */
+    private long top;
+
+    /**
+     * The position just past the element at the front, where the owner
+     * pushes and pops. Written only by the owner.
+     */
+    private long bottom;
+
+    /**
+     * A public {@code constructor} for an empty {@code Deque} with the
+     * default initial capacity.
+     */
+    public WorkStealingDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * A secondary {@code constructor} for an empty {@code Deque} that
+     * starts out with room for at least the given number of elements.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public WorkStealingDeque(final int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException();
+        final int length = capacity <= 2 ? 2 : capacity >= MAXIMUM_CAPACITY ?
+                MAXIMUM_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+        INTERNAL.setRelease(this, (E[]) new Object[length]);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Owner only. This is the Chase-Lev push. The {@code Array} doubles
+     * if it is full.
+     *
+     * @param input {@code Element}
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void insertOnFront(final E input) {
+        if (input == null) throw new NullPointerException();
+        final long b = bottom;
+        final long t = (long) TOP.getAcquire(this);
+        E[] a = internal;
+        if (b - t > a.length - 1) a = grow(a, t, b);
+        a[(int) b & (a.length - 1)] = input;
+        BOTTOM.setRelease(this, b + 1);
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Owner only. This is the Chase-Lev pop: the front is claimed first,
+     * and only when that leaves a single element is there a race with the
+     * thieves, settled by compare-and-set. If the {@code Deque} is empty,
+     * or a thief takes the last element first, this method returns null.
+     *
+     * @return the {@code Element} at the front of the {@code Deque}
+     */
+    @Override
+    public E delete() {
+        final long b = bottom - 1;
+        final E[] a = internal;
+        BOTTOM.setVolatile(this, b);
+        final long t = (long) TOP.getVolatile(this);
+        if (t > b) {
+            BOTTOM.setRelease(this, b + 1);
+            return null;
+        }
+        final int index = (int) b & (a.length - 1);
+        E removal = a[index];
+        if (t == b) {
+            if (!TOP.compareAndSet(this, t, t + 1)) removal = null;
+            BOTTOM.setRelease(this, b + 1);
+        }
+        if (removal != null) a[index] = null;
+        return removal;
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Not supported: only the owner may add elements, and only at the
+     * front.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void insert(final E input) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Any thread. This is the Chase-Lev steal. If the {@code Deque} is
+     * empty, or another thread takes the element first, this method
+     * returns null.
+     *
+     * @return the {@code Element} at the back of the {@code Deque}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E deleteFromBack() {
+        final long t = (long) TOP.getAcquire(this);
+        VarHandle.fullFence();
+        final long b = (long) BOTTOM.getAcquire(this);
+        if (t >= b) return null;
+        final E[] a = (E[]) INTERNAL.getAcquire(this);
+        final E removal = a[(int) t & (a.length - 1)];
+        return TOP.compareAndSet(this, t, t + 1) ? removal : null;
+    }
+
+    /**
+     * A method that is similar to {@code peek()}. However, this method
+     * returns the element at the back of the {@code Deque}, the next one
+     * to be stolen. Any thread.
+     *
+     * @return the element at the back of the {@code Deque}, or null if it
+     *         is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFromBack() {
+        final long t = (long) TOP.getAcquire(this);
+        final long b = (long) BOTTOM.getAcquire(this);
+        if (t >= b) return null;
+        final E[] a = (E[]) INTERNAL.getAcquire(this);
+        return a[(int) t & (a.length - 1)];
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>Owner only. If the {@code Deque} is empty, this method returns
+     * null.
+     */
+    @Override
+    public E peek() {
+        final long b = bottom;
+        final long t = (long) TOP.getAcquire(this);
+        if (t >= b) return null;
+        final E[] a = internal;
+        return a[(int) (b - 1) & (a.length - 1)];
+    }
+
+    /**
+     * @inheritDoc
+     *
+     * <p>While the {@code Deque} is in use, the result is only a snapshot.
+     */
+    @Override
+    public int size() {
+        final long t = (long) TOP.getAcquire(this);
+        final long b = (long) BOTTOM.getAcquire(this);
+        return (int) Math.max(0, b - t);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+        for (final Iterator<E> it = iterator(); it.hasNext(); ) {
+            out.append(it.next()).append(it.hasNext() ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public String toStore() {
+        final E[] a = (E[]) INTERNAL.getAcquire(this);
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < a.length; i++) {
+            out.append(a[i]).append((i < a.length - 1) ? ", " : "");
+        }
+        out.append("]");
+        return out.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Deque} change under other threads,
+     * the hash code is based on identity.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As the contents of the {@code Deque} change under other threads,
+     * equality is based on identity.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Iterator} is weakly consistent. It never throws
+     * {@link java.util.ConcurrentModificationException}, and it returns
+     * elements from the front of the {@code Deque} towards its back, as
+     * they were when it was created. Elements that are taken in the
+     * meantime may or may not be returned. It is meant for monitoring.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The {@code Spliterator} is backed by the weakly consistent
+     * {@code Iterator}, and reports {@link Spliterator#ORDERED},
+     * {@link Spliterator#NONNULL} and {@link Spliterator#CONCURRENT}.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL |
+                        Spliterator.CONCURRENT);
+    }
+
+    /*
+     * A method to double the internal Array, copying the live positions
+     * from t up to b across, and publish it to the thieves. Owner only.
+     * The positions stay the same, so only their indexes change.
+     */
+    @SuppressWarnings("unchecked")
+    private E[] grow(final E[] a, final long t, final long b) {
+        if (a.length == MAXIMUM_CAPACITY)
+            throw new IllegalStateException("Deque too big");
+        final E[] copy = (E[]) new Object[a.length << 1];
+        final int mask = a.length - 1, copyMask = copy.length - 1;
+        for (long p = t; p < b; p++)
+            copy[(int) p & copyMask] = a[(int) p & mask];
+        INTERNAL.setRelease(this, copy);
+        return copy;
+    }
+
+    /*
+     * Itr
+     *
+     * A weakly consistent Iterator over the positions from the front down
+     * to the back, as seen when it was created. Each element is fetched
+     * ahead of time, so that hasNext() agrees with the following call to
+     * next().
+     */
+    private final class Itr implements Iterator<E> {
+
+        private final long fence = (long) TOP.getAcquire(WorkStealingDeque.this);
+        private long position = (long) BOTTOM.getAcquire(WorkStealingDeque.this);
+        @SuppressWarnings("unchecked")
+        private final E[] a = (E[]) INTERNAL.getAcquire(WorkStealingDeque.this);
+        private E next;
+
+        public Itr() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (--position >= fence) {
+                final E e = a[(int) position & (a.length - 1)];
+                if (e != null) {
+                    next = e;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            final E e = next;
+            if (e == null) throw new NoSuchElementException();
+            advance();
+            return e;
+        }
+
+    }
+
+}